@@ -0,0 +1,93 @@
+package com.budgetwise.backend.config;
+
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.oauth2.jose.jws.SignatureAlgorithm;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Authentication cost per request for a repeated bearer token: the RS256
+ * signature check and claim validation the resource server does today against
+ * the verified-token cache. The token is shaped like a Clerk session token.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1)
+public class JwtDecodeBenchmark {
+
+    private static final String ISSUER = "https://clerk.budgetwise.example";
+
+    private NimbusJwtDecoder verifying;
+    private CachingJwtDecoder caching;
+    private String token;
+
+    @Setup
+    public void setUp() throws NoSuchAlgorithmException {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        KeyPair keys = generator.generateKeyPair();
+        RSAKey jwk = new RSAKey.Builder((RSAPublicKey) keys.getPublic())
+                .privateKey((RSAPrivateKey) keys.getPrivate())
+                .keyID("bench")
+                .build();
+
+        Instant now = Instant.now();
+        JwtClaimsSet claims = JwtClaimsSet.builder()
+                .issuer(ISSUER)
+                .subject("user_2abcdefghijklmnopqrstuvwxyz")
+                .issuedAt(now)
+                .notBefore(now)
+                .expiresAt(now.plus(Duration.ofHours(1)))
+                .claim("azp", "http://localhost:5173")
+                .claim("sid", "sess_2abcdefghijklmnopqrstuvwxyz")
+                .build();
+        token = new NimbusJwtEncoder(new ImmutableJWKSet<>(new JWKSet(jwk)))
+                .encode(JwtEncoderParameters.from(JwsHeader.with(SignatureAlgorithm.RS256).build(), claims))
+                .getTokenValue();
+
+        verifying = NimbusJwtDecoder.withPublicKey((RSAPublicKey) keys.getPublic()).build();
+        verifying.setJwtValidator(JwtValidators.createDefaultWithIssuer(ISSUER));
+        caching = new CachingJwtDecoder(verifying, 10_000, Clock.systemUTC());
+        caching.decode(token);
+    }
+
+    @Benchmark
+    public Jwt verifyEveryRequest() {
+        return verifying.decode(token);
+    }
+
+    @Benchmark
+    public Jwt cachedRepeatToken() {
+        return caching.decode(token);
+    }
+}
@@ -0,0 +1,166 @@
+package com.budgetwise.backend.config;
+
+import org.flywaydb.core.Flyway;
+import org.h2.jdbcx.JdbcDataSource;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Primary load under a read-heavy mix: readPercent of operations are the
+ * read-only per-user total the list endpoints run, the rest single-row inserts.
+ * The aux counters report connections taken from each database per operation,
+ * first with everything on the primary (today) and then with the read/write
+ * routing. Two in-memory H2 databases migrated with the production scripts
+ * stand in for the primary and the replica.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(16)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class ReadReplicaBenchmark {
+
+    private static final long USER_ID = 1L;
+    private static final String READ_SQL = "SELECT COALESCE(SUM(amount), 0) FROM transactions WHERE user_id = ?";
+    private static final String INSERT_SQL = "INSERT INTO transactions (user_id, type, category, amount, "
+            + "original_amount, original_currency, conversion_rate, date, description) "
+            + "VALUES (?, 'EXPENSE', 'Food', ?, ?, 'INR', 1, ?, 'benchmark')";
+
+    @Param({ "90" })
+    public int readPercent;
+
+    private CountingDataSource primary;
+    private CountingDataSource replica;
+    private Workload single;
+    private Workload routed;
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Connections {
+        public long primaryConnections;
+        public long replicaConnections;
+    }
+
+    @Setup
+    public void setUp() {
+        primary = new CountingDataSource(database("replica_bench_primary"));
+        replica = new CountingDataSource(database("replica_bench_replica"));
+        // Nobody is authenticated here, so read-your-writes never pins a read to the primary
+        ReadYourWritesTracker tracker = new ReadYourWritesTracker(Duration.ofSeconds(5), 100);
+        single = new Workload(primary);
+        routed = new Workload(ReadReplicaConfig.routing(primary, replica, tracker));
+    }
+
+    @Setup(Level.Iteration)
+    public void resetCounters() {
+        primary.connections.reset();
+        replica.connections.reset();
+    }
+
+    @Benchmark
+    public Object singlePrimary(Connections connections) {
+        return run(single, connections);
+    }
+
+    @Benchmark
+    public Object readReplicaRouting(Connections connections) {
+        return run(routed, connections);
+    }
+
+    private Object run(Workload workload, Connections connections) {
+        long primaryBefore = primary.connections.sum();
+        long replicaBefore = replica.connections.sum();
+        Object result = ThreadLocalRandom.current().nextInt(100) < readPercent ? workload.read() : workload.write();
+        // Approximate under concurrency, exact in aggregate over an iteration
+        connections.primaryConnections += primary.connections.sum() - primaryBefore;
+        connections.replicaConnections += replica.connections.sum() - replicaBefore;
+        return result;
+    }
+
+    private static DataSource database(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + name + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;"
+                + "NON_KEYWORDS=YEAR,MONTH,VALUE;DB_CLOSE_DELAY=-1");
+        Flyway.configure().dataSource(dataSource).load().migrate();
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.update("INSERT INTO users (id, clerk_id, name, email) VALUES (?, 'user_benchmark', 'Benchmark User', "
+                + "'benchmark@example.com')", USER_ID);
+        for (int i = 0; i < 10_000; i++) {
+            jdbc.update(INSERT_SQL, USER_ID, BigDecimal.TEN, BigDecimal.TEN,
+                    Date.valueOf(LocalDate.of(2024, 1, 1).plusDays(i % 365)));
+        }
+        return dataSource;
+    }
+
+    private static final class Workload {
+        private final JdbcTemplate jdbcTemplate;
+        private final TransactionTemplate readOnly;
+        private final TransactionTemplate readWrite;
+
+        Workload(DataSource dataSource) {
+            jdbcTemplate = new JdbcTemplate(dataSource);
+            DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+            readWrite = new TransactionTemplate(transactionManager);
+            readOnly = new TransactionTemplate(transactionManager);
+            readOnly.setReadOnly(true);
+        }
+
+        Object read() {
+            return readOnly.execute(status -> jdbcTemplate.queryForObject(READ_SQL, BigDecimal.class, USER_ID));
+        }
+
+        Object write() {
+            return readWrite.execute(status -> jdbcTemplate.update(INSERT_SQL, USER_ID, BigDecimal.ONE,
+                    BigDecimal.ONE, Date.valueOf(LocalDate.of(2024, 6, 1))));
+        }
+    }
+
+    private static final class CountingDataSource extends DelegatingDataSource {
+        final LongAdder connections = new LongAdder();
+
+        CountingDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            connections.increment();
+            return super.getConnection();
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            connections.increment();
+            return super.getConnection(username, password);
+        }
+    }
+}
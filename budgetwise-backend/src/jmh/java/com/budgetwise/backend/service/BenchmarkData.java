@@ -0,0 +1,203 @@
+package com.budgetwise.backend.service;
+
+import com.budgetwise.backend.entity.Budget;
+import com.budgetwise.backend.entity.MonthlySummary;
+import com.budgetwise.backend.entity.Transaction;
+import com.budgetwise.backend.entity.User;
+import com.budgetwise.backend.repository.MonthlySummaryRepository.CategoryMonthTotal;
+import com.budgetwise.backend.repository.MonthlySummaryRepository.CategoryTotal;
+import com.budgetwise.backend.repository.MonthlySummaryRepository.TypeCategoryTotal;
+import com.budgetwise.backend.repository.MonthlySummaryRepository.TypeTotal;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Seeded synthetic histories shared by the benchmarks, so every run (and every
+ * before/after comparison) works on exactly the same data.
+ */
+final class BenchmarkData {
+
+    static final long SEED = 20240101L;
+    // Fixed "today" so the current-month figures do not depend on when the benchmark runs
+    static final LocalDate TODAY = LocalDate.of(2025, 6, 15);
+    static final int HISTORY_DAYS = 5 * 365;
+
+    private static final String[] CATEGORIES = { "Food", "Rent", "Travel", "Shopping", "Bills", "Health",
+            "Education", "Entertainment", "Fuel", "Gifts", "Groceries", "Insurance", "Subscriptions", "Pets",
+            "Childcare", "Taxes", "Charity", "Repairs", "Internet", "Phone" };
+    private static final String[] CURRENCIES = { "INR", "INR", "INR", "USD", "EUR", "GBP" };
+    private static final String[] DESCRIPTIONS = { "Weekly groceries", "Dinner with friends, split 3 ways",
+            "Monthly rent", "Uber to airport", "\"Premium\" plan renewal", "Pharmacy\nprescription refill",
+            "Salary", "Electricity bill - May", "Gift for Mom's birthday", "Fuel" };
+
+    private BenchmarkData() {
+    }
+
+    static User user() {
+        User user = new User();
+        user.setId(1L);
+        user.setClerkId("user_benchmark");
+        user.setName("Benchmark User");
+        user.setEmail("benchmark@example.com");
+        return user;
+    }
+
+    static List<Transaction> transactions(int count) {
+        return transactions(count, HISTORY_DAYS);
+    }
+
+    // count transactions spread evenly over the historyDays up to TODAY
+    static List<Transaction> transactions(int count, int historyDays) {
+        Random random = new Random(SEED);
+        User user = user();
+        List<Transaction> transactions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Transaction t = new Transaction();
+            t.setId((long) i + 1);
+            t.setUser(user);
+            // Roughly one income for every nine expenses
+            boolean income = random.nextInt(10) == 0;
+            t.setType(income ? Transaction.TransactionType.INCOME : Transaction.TransactionType.EXPENSE);
+            t.setCategory(income ? "Salary" : CATEGORIES[random.nextInt(CATEGORIES.length)]);
+            String currency = CURRENCIES[random.nextInt(CURRENCIES.length)];
+            BigDecimal original = BigDecimal.valueOf(100 + random.nextInt(5_000_000), 2);
+            BigDecimal rate = "INR".equals(currency) ? BigDecimal.ONE : new BigDecimal("85.00");
+            t.setOriginalAmount(original);
+            t.setOriginalCurrency(currency);
+            t.setConversionRate(rate);
+            t.setAmount(original.multiply(rate));
+            t.setDate(TODAY.minusDays(random.nextInt(historyDays)));
+            t.setDescription(DESCRIPTIONS[random.nextInt(DESCRIPTIONS.length)]);
+            transactions.add(t);
+        }
+        return transactions;
+    }
+
+    /**
+     * Rolls transactions up the way MonthlySummaryService maintains
+     * monthly_summaries, i.e. what the dashboard actually reads.
+     */
+    static List<MonthlySummary> monthlySummaries(List<Transaction> transactions) {
+        Map<String, MonthlySummary> buckets = new LinkedHashMap<>();
+        for (Transaction t : transactions) {
+            String key = t.getDate().getYear() + "-" + t.getDate().getMonthValue() + "-" + t.getType() + "-"
+                    + t.getCategory();
+            MonthlySummary summary = buckets.computeIfAbsent(key, k -> new MonthlySummary(null, t.getUser(),
+                    t.getDate().getYear(), t.getDate().getMonthValue(), t.getType(), t.getCategory(),
+                    BigDecimal.ZERO.setScale(MonthlySummaryService.MONEY_SCALE), 0L));
+            summary.setAmount(summary.getAmount().add(t.getAmount()));
+            summary.setTransactionCount(summary.getTransactionCount() + 1);
+        }
+        return new ArrayList<>(buckets.values());
+    }
+
+    static List<CategoryMonthTotal> expenseTotals(List<MonthlySummary> summaries) {
+        List<CategoryMonthTotal> totals = new ArrayList<>();
+        for (MonthlySummary s : summaries) {
+            if (s.getType() == Transaction.TransactionType.EXPENSE) {
+                totals.add(new Total(s.getYear(), s.getMonth(), s.getCategory().toLowerCase(Locale.ROOT),
+                        s.getAmount()));
+            }
+        }
+        return totals;
+    }
+
+    // What sumByType returns: one row per type
+    static List<TypeTotal> typeTotals(List<MonthlySummary> summaries) {
+        Map<Transaction.TransactionType, BigDecimal> sums = new LinkedHashMap<>();
+        for (MonthlySummary s : summaries) {
+            sums.merge(s.getType(), s.getAmount(), BigDecimal::add);
+        }
+        List<TypeTotal> totals = new ArrayList<>();
+        sums.forEach((type, amount) -> totals.add(new Sum(type, null, amount)));
+        return totals;
+    }
+
+    // What sumByCategory returns for expenses
+    static List<CategoryTotal> expenseCategoryTotals(List<MonthlySummary> summaries) {
+        Map<String, BigDecimal> sums = new LinkedHashMap<>();
+        for (MonthlySummary s : summaries) {
+            if (s.getType() == Transaction.TransactionType.EXPENSE) {
+                sums.merge(s.getCategory(), s.getAmount(), BigDecimal::add);
+            }
+        }
+        List<CategoryTotal> totals = new ArrayList<>();
+        sums.forEach((category, amount) -> totals.add(new Sum(Transaction.TransactionType.EXPENSE, category,
+                amount)));
+        return totals;
+    }
+
+    // What sumByTypeAndCategoryInMonth returns for TODAY's month
+    static List<TypeCategoryTotal> currentMonthTotals(List<MonthlySummary> summaries) {
+        List<TypeCategoryTotal> totals = new ArrayList<>();
+        for (MonthlySummary s : summaries) {
+            if (s.getYear() == TODAY.getYear() && s.getMonth() == TODAY.getMonthValue()) {
+                totals.add(new Sum(s.getType(), s.getCategory(), s.getAmount()));
+            }
+        }
+        return totals;
+    }
+
+    // One budget per (month, category) that has spending, as a long-time user would accumulate
+    static List<Budget> budgets(List<MonthlySummary> summaries) {
+        List<Budget> budgets = new ArrayList<>();
+        User user = user();
+        for (MonthlySummary s : summaries) {
+            if (s.getType() == Transaction.TransactionType.EXPENSE) {
+                budgets.add(new Budget((long) budgets.size() + 1, user, s.getCategory(), new BigDecimal("1000.00"),
+                        s.getMonth(), s.getYear()));
+            }
+        }
+        return budgets;
+    }
+
+    private record Sum(Transaction.TransactionType type, String category, BigDecimal amount)
+            implements TypeTotal, CategoryTotal, TypeCategoryTotal {
+
+        @Override
+        public Transaction.TransactionType getType() {
+            return type;
+        }
+
+        @Override
+        public String getCategory() {
+            return category;
+        }
+
+        @Override
+        public BigDecimal getAmount() {
+            return amount;
+        }
+    }
+
+    private record Total(Integer year, Integer month, String category, BigDecimal amount)
+            implements CategoryMonthTotal {
+
+        @Override
+        public Integer getYear() {
+            return year;
+        }
+
+        @Override
+        public Integer getMonth() {
+            return month;
+        }
+
+        @Override
+        public String getCategory() {
+            return category;
+        }
+
+        @Override
+        public BigDecimal getAmount() {
+            return amount;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.budgetwise.backend.service;
+
+import com.budgetwise.backend.entity.Budget;
+import com.budgetwise.backend.entity.MonthlySummary;
+import com.budgetwise.backend.repository.MonthlySummaryRepository.CategoryMonthTotal;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Spent-amount matching for every budget a user has, as done by getAllBudgets:
+ * index the grouped expense totals once, then look each budget up. Both inputs
+ * are one row per (month, category), so the history is sized in months, each
+ * dense enough that every category has spending and a budget.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class BudgetSpentBenchmark {
+
+    private static final int TRANSACTIONS_PER_MONTH = 400;
+
+    @Param({ "12", "60", "240" })
+    public int months;
+
+    private List<CategoryMonthTotal> totals;
+    private List<Budget> budgets;
+
+    @Setup
+    public void setUp() {
+        List<MonthlySummary> summaries = BenchmarkData.monthlySummaries(
+                BenchmarkData.transactions(months * TRANSACTIONS_PER_MONTH, months * 365 / 12));
+        totals = BenchmarkData.expenseTotals(summaries);
+        budgets = BenchmarkData.budgets(summaries);
+    }
+
+    @Benchmark
+    public void spentForAllBudgets(Blackhole blackhole) {
+        BudgetService.SpentIndex spent = BudgetService.spentByMonthAndCategory(totals);
+        for (Budget budget : budgets) {
+            blackhole.consume(BudgetService.calculateSpentForBudget(budget, spent));
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.budgetwise.backend.service;
+
+import com.budgetwise.backend.dto.DashboardDTO;
+import com.budgetwise.backend.entity.MonthlySummary;
+import com.budgetwise.backend.repository.MonthlySummaryRepository.CategoryTotal;
+import com.budgetwise.backend.repository.MonthlySummaryRepository.TypeCategoryTotal;
+import com.budgetwise.backend.repository.MonthlySummaryRepository.TypeTotal;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building the dashboard totals from the summed rows the database returns.
+ * Those are a few rows per type and category however long the history is,
+ * so there is no size parameter: a longer history changes the database's
+ * share of the work, not this one.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class DashboardAggregationBenchmark {
+
+    private List<TypeTotal> typeTotals;
+    private List<CategoryTotal> categoryTotals;
+    private List<TypeCategoryTotal> currentMonth;
+
+    @Setup
+    public void setUp() {
+        List<MonthlySummary> summaries = BenchmarkData.monthlySummaries(BenchmarkData.transactions(100_000));
+        typeTotals = BenchmarkData.typeTotals(summaries);
+        categoryTotals = BenchmarkData.expenseCategoryTotals(summaries);
+        currentMonth = BenchmarkData.currentMonthTotals(summaries);
+    }
+
+    @Benchmark
+    public DashboardDTO aggregate() {
+        return DashboardService.aggregate(typeTotals, categoryTotals, currentMonth);
+    }
+}
@@ -0,0 +1,157 @@
+package com.budgetwise.backend.service;
+
+import com.budgetwise.backend.dto.BudgetDTO;
+import com.budgetwise.backend.dto.DashboardDTO;
+import com.budgetwise.backend.dto.SavingsDTO;
+import com.budgetwise.backend.entity.MonthlySummary;
+import com.budgetwise.backend.entity.Transaction;
+import com.budgetwise.backend.entity.User;
+import com.budgetwise.backend.repository.MonthlySummaryRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dashboard latency with every DB round trip (the three rollup sums, budgets,
+ * savings) replaced by a fixed simulated delay. Sample mode reports p50/p99
+ * for the parallel fan-out against the same phases run one after another, and
+ * for a fan-out whose budgets query stalls: the dashboard is then returned
+ * without budgets once the fan-out deadline passes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class DashboardFanOutBenchmark {
+
+    private static final String CLERK_ID = "user_benchmark";
+    private static final long STALLED_MILLIS = 10_000;
+
+    @Param({ "5", "20" })
+    public long dbLatencyMillis;
+
+    private User user;
+    private MonthlySummaryRepository summaries;
+    private BudgetService budgetService;
+    private SavingsService savingsService;
+    private DashboardService dashboardService;
+    private DashboardService stalledBudgetsDashboardService;
+
+    @Setup
+    public void setUp() {
+        user = BenchmarkData.user();
+        List<MonthlySummary> rows = BenchmarkData.monthlySummaries(BenchmarkData.transactions(10_000));
+        Map<String, Object> results = Map.of(
+                "sumByType", BenchmarkData.typeTotals(rows),
+                "sumByCategory", BenchmarkData.expenseCategoryTotals(rows),
+                "sumByTypeAndCategoryInMonth", BenchmarkData.currentMonthTotals(rows));
+        List<BudgetDTO> budgets = List.of(new BudgetDTO());
+        List<SavingsDTO> savings = List.of(new SavingsDTO());
+
+        summaries = (MonthlySummaryRepository) Proxy.newProxyInstance(
+                MonthlySummaryRepository.class.getClassLoader(), new Class<?>[] { MonthlySummaryRepository.class },
+                (proxy, method, args) -> {
+                    Object result = results.get(method.getName());
+                    if (result == null) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    simulateRoundTrip();
+                    return result;
+                });
+        CurrentUserResolver resolver = new CurrentUserResolver(null) {
+            @Override
+            public User resolve(String clerkId) {
+                return user;
+            }
+        };
+        budgetService = new BudgetService(null, null, null, null) {
+            @Override
+            public List<BudgetDTO> getAllBudgets(String clerkId, String category, Integer month, Integer year) {
+                simulateRoundTrip();
+                return budgets;
+            }
+        };
+        savingsService = new SavingsService(null, null, null, null) {
+            @Override
+            public List<SavingsDTO> getAllSavings(String clerkId, Integer month, Integer year) {
+                simulateRoundTrip();
+                return savings;
+            }
+        };
+        DataVersionService dataVersionService = new DataVersionService(null, resolver) {
+            @Override
+            public DataVersion current(String clerkId) {
+                return new DataVersion(user.getId(), 0);
+            }
+        };
+        dashboardService = new DashboardService(summaries, resolver, budgetService, savingsService,
+                dataVersionService, new SimpleMeterRegistry(), 1000, Duration.ofMinutes(10), Duration.ofSeconds(5));
+
+        BudgetService stalledBudgets = new BudgetService(null, null, null, null) {
+            @Override
+            public List<BudgetDTO> getAllBudgets(String clerkId, String category, Integer month, Integer year) {
+                sleep(STALLED_MILLIS); // interrupted when the dashboard gives up on it
+                return budgets;
+            }
+        };
+        // A deadline of a few round trips: well past a healthy fan-out, far short of the stall
+        stalledBudgetsDashboardService = new DashboardService(summaries, resolver, stalledBudgets, savingsService,
+                dataVersionService, new SimpleMeterRegistry(), 1000, Duration.ofMinutes(10),
+                Duration.ofMillis(4 * dbLatencyMillis));
+    }
+
+    @Benchmark
+    public DashboardDTO parallel() {
+        // Measure the computation, not the cache
+        dashboardService.onUserDataChanged(new UserDataChangedEvent(user.getId()));
+        return dashboardService.getDashboardData(CLERK_ID);
+    }
+
+    @Benchmark
+    public DashboardDTO parallelWithStalledBudgets() {
+        // Degraded dashboards are never kept in the cache, so every call computes again
+        return stalledBudgetsDashboardService.getDashboardData(CLERK_ID);
+    }
+
+    @Benchmark
+    public DashboardDTO sequential() {
+        LocalDate now = LocalDate.now();
+        DashboardDTO dto = DashboardService.aggregate(summaries.sumByType(user),
+                summaries.sumByCategory(user, Transaction.TransactionType.EXPENSE),
+                summaries.sumByTypeAndCategoryInMonth(user, now.getYear(), now.getMonthValue()));
+        dto.setBudgets(budgetService.getAllBudgets(CLERK_ID, null, null, null));
+        List<SavingsDTO> savings = savingsService.getAllSavings(CLERK_ID, now.getMonthValue(), now.getYear());
+        dto.setMonthlySavings(savings.isEmpty() ? null : savings.get(0));
+        return dto;
+    }
+
+    private void simulateRoundTrip() {
+        sleep(dbLatencyMillis);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.budgetwise.backend.service;
+
+import com.budgetwise.backend.dto.TransactionDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CSV field escaping and row building for an export of the given size. Rows go
+ * through the same buffered UTF-8 writer as the export endpoint, into a sink.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class ExportCsvBenchmark {
+
+    @Param({ "1000", "100000", "1000000" })
+    public int transactions;
+
+    private List<TransactionDTO> rows;
+
+    @Setup
+    public void setUp() {
+        rows = BenchmarkData.transactions(transactions).stream().map(TransactionService::mapToDTO).toList();
+    }
+
+    @Benchmark
+    public void escape(Blackhole blackhole) {
+        for (TransactionDTO row : rows) {
+            blackhole.consume(ExportService.escape(row.getCategory()));
+            blackhole.consume(ExportService.escape(row.getDescription()));
+        }
+    }
+
+    @Benchmark
+    public void writeRows() throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(OutputStream.nullOutputStream(),
+                StandardCharsets.UTF_8), 16 * 1024);
+        for (TransactionDTO row : rows) {
+            ExportService.writeRow(writer, row);
+        }
+        writer.flush();
+    }
+}
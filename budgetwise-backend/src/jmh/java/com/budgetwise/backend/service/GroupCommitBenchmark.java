@@ -0,0 +1,155 @@
+package com.budgetwise.backend.service;
+
+import com.budgetwise.backend.dto.TransactionDTO;
+import com.budgetwise.backend.entity.Transaction;
+import com.budgetwise.backend.entity.User;
+import com.zaxxer.hikari.HikariDataSource;
+import org.flywaydb.core.Flyway;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput and latency percentiles (p99 in the SampleTime output) for 32
+ * concurrent single-transaction creates: one insert and commit per request, as
+ * POST /api/transactions does today, against the group-commit writer. The win
+ * comes from sharing the commit's fsync, so the in-memory H2 default only shows
+ * the queueing overhead. Pass a real database to measure it, e.g.
+ * {@code -Djmh.args="GroupCommit -p url=jdbc:mysql://localhost/bench -p username=.. -p password=.."}.
+ * The monthly rollup upserts are left out of both paths.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(32)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class GroupCommitBenchmark {
+
+    @Param({ "jdbc:h2:mem:group_commit_benchmark;MODE=MySQL;DATABASE_TO_LOWER=TRUE;"
+            + "NON_KEYWORDS=YEAR,MONTH,VALUE;DB_CLOSE_DELAY=-1" })
+    public String url;
+
+    @Param({ "sa" })
+    public String username;
+
+    @Param({ "" })
+    public String password;
+
+    @Param({ "200" })
+    public int batchSize;
+
+    @Param({ "2" })
+    public int maxDelayMillis;
+
+    private HikariDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private GroupCommitTransactionWriter writer;
+    private User user;
+    private TransactionDTO request;
+
+    @Setup
+    public void setUp() {
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername(username);
+        dataSource.setPassword(password);
+        dataSource.setMaximumPoolSize(40);
+        Flyway.configure().dataSource(dataSource).load().migrate();
+
+        user = BenchmarkData.user();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.update("DELETE FROM transactions");
+        jdbcTemplate.update("DELETE FROM users WHERE id = ?", user.getId());
+        jdbcTemplate.update("INSERT INTO users (id, clerk_id, name, email) VALUES (?, ?, ?, ?)",
+                user.getId(), user.getClerkId(), user.getName(), user.getEmail());
+
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+
+        CurrentUserResolver resolver = new CurrentUserResolver(null) {
+            @Override
+            public User resolve(String clerkId) {
+                return user;
+            }
+        };
+        // Conversion is the same for both paths, so keep the rate lookup out of the measurement
+        TransactionService transactionService = new TransactionService(null, null, null, null, null, null, null) {
+            @Override
+            Transaction newTransaction(User owner, TransactionDTO dto) {
+                Transaction t = new Transaction();
+                t.setUser(owner);
+                t.setType(dto.getType());
+                t.setCategory(dto.getCategory());
+                t.setAmount(dto.getAmount());
+                t.setOriginalAmount(dto.getAmount());
+                t.setOriginalCurrency("INR");
+                t.setConversionRate(BigDecimal.ONE);
+                t.setDate(dto.getDate());
+                t.setDescription(dto.getDescription());
+                return t;
+            }
+        };
+        MonthlySummaryService monthlySummaryService = new MonthlySummaryService(null, null, null) {
+            @Override
+            public void recordTransactions(Long userId, Collection<Transaction> batch) {
+            }
+        };
+        writer = new GroupCommitTransactionWriter(resolver, transactionService, monthlySummaryService,
+                jdbcTemplate, transactionManager, event -> {
+                }, true, batchSize, Duration.ofMillis(maxDelayMillis), 10_000, Duration.ofSeconds(5),
+                Duration.ofSeconds(30));
+
+        Transaction template = BenchmarkData.transactions(1).get(0);
+        request = TransactionService.mapToDTO(template);
+        request.setId(null);
+    }
+
+    @Setup(Level.Iteration)
+    public void truncate() {
+        jdbcTemplate.update("DELETE FROM transactions");
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        writer.shutdown();
+        dataSource.close();
+    }
+
+    @Benchmark
+    public Long singleRowCommit() {
+        return transactionTemplate.execute(status -> {
+            jdbcTemplate.update(TransactionImportService.INSERT_SQL, user.getId(), request.getType().name(),
+                    request.getCategory(), request.getAmount(), request.getAmount(), "INR", BigDecimal.ONE,
+                    Date.valueOf(request.getDate()), request.getDescription());
+            return user.getId();
+        });
+    }
+
+    @Benchmark
+    public Long groupCommit() {
+        return writer.createTransaction(user.getClerkId(), request).getId();
+    }
+}
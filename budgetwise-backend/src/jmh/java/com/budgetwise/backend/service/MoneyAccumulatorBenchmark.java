@@ -0,0 +1,103 @@
+package com.budgetwise.backend.service;
+
+import com.budgetwise.backend.entity.Transaction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Summing a full transaction history, total and per category: BigDecimal
+ * pipelines as the services used to do it against the fixed-point
+ * accumulators. Amounts are stored at scale 2, as they come back from MySQL.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class MoneyAccumulatorBenchmark {
+
+    @Param({ "1000", "100000", "1000000" })
+    public int transactions;
+
+    private BigDecimal[] amounts;
+    private String[] categories;
+    private List<Transaction> history;
+
+    @Setup
+    public void setUp() {
+        history = BenchmarkData.transactions(transactions);
+        amounts = new BigDecimal[history.size()];
+        categories = new String[history.size()];
+        for (int i = 0; i < history.size(); i++) {
+            amounts[i] = history.get(i).getAmount().setScale(MonthlySummaryService.MONEY_SCALE,
+                    RoundingMode.HALF_UP);
+            history.get(i).setAmount(amounts[i]);
+            categories[i] = history.get(i).getCategory();
+        }
+    }
+
+    @Benchmark
+    public BigDecimal streamReduce() {
+        return history.stream().map(Transaction::getAmount).reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimalLoop() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (BigDecimal amount : amounts) {
+            total = total.add(amount);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public BigDecimal accumulator() {
+        MoneyAccumulator total = new MoneyAccumulator();
+        for (BigDecimal amount : amounts) {
+            total.add(amount);
+        }
+        return total.toBigDecimal();
+    }
+
+    @Benchmark
+    public Map<String, BigDecimal> byCategoryMerge() {
+        Map<String, BigDecimal> totals = new HashMap<>();
+        for (int i = 0; i < amounts.length; i++) {
+            totals.merge(categories[i], amounts[i], BigDecimal::add);
+        }
+        return totals;
+    }
+
+    @Benchmark
+    public Map<String, BigDecimal> byCategoryAccumulator() {
+        Map<String, MoneyAccumulator> totals = new HashMap<>();
+        for (int i = 0; i < amounts.length; i++) {
+            MoneyAccumulator total = totals.get(categories[i]);
+            if (total == null) {
+                total = new MoneyAccumulator();
+                totals.put(categories[i], total);
+            }
+            total.add(amounts[i]);
+        }
+        Map<String, BigDecimal> result = new HashMap<>();
+        totals.forEach((category, total) -> result.put(category, total.toBigDecimal()));
+        return result;
+    }
+}
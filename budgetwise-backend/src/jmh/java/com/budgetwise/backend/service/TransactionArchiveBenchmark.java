@@ -0,0 +1,180 @@
+package com.budgetwise.backend.service;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.flywaydb.core.Flyway;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hot-table latency before and after archiving everything older than two years
+ * out of a synthetic history spread evenly over five: the first page of a user's
+ * listing (plus the bounded archive probe TransactionService adds) and a single
+ * insert. Setup prints the row counts of both tables and, on MySQL, their data
+ * and index sizes. The 10M-row comparison needs a real database, e.g.
+ * {@code -Djmh.args="TransactionArchive -p rows=10000000 -p username=.. -p password=..
+ * -p url=jdbc:mysql://localhost/bench?rewriteBatchedStatements=true"}.
+ * In-memory H2 keeps every index in memory, so there the archive probe only
+ * adds a query to the first page; whether the smaller hot index wins it back
+ * shows only on a database whose buffer pool the full table outgrows.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(8)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class TransactionArchiveBenchmark {
+
+    private static final int PAGE_SIZE = 50;
+    private static final int INSERT_BATCH = 10_000;
+    private static final Period HORIZON = Period.ofYears(2);
+    private static final String[] CATEGORIES = { "Food", "Rent", "Travel", "Shopping", "Bills", "Health",
+            "Groceries", "Fuel" };
+
+    private static final String HOT_PAGE_SQL = "SELECT id, date, amount FROM transactions WHERE user_id = ? "
+            + "ORDER BY date DESC, id DESC LIMIT ?";
+    private static final String ARCHIVE_PAGE_SQL = "SELECT id, date, amount FROM transactions_archive "
+            + "WHERE user_id = ? AND date >= ? ORDER BY date DESC, id DESC LIMIT ?";
+
+    @Param({ "jdbc:h2:mem:archive_benchmark;MODE=MySQL;DATABASE_TO_LOWER=TRUE;"
+            + "NON_KEYWORDS=YEAR,MONTH,VALUE;DB_CLOSE_DELAY=-1" })
+    public String url;
+
+    @Param({ "sa" })
+    public String username;
+
+    @Param({ "" })
+    public String password;
+
+    @Param({ "1000000" })
+    public int rows;
+
+    @Param({ "1000" })
+    public int users;
+
+    @Param({ "false", "true" })
+    public boolean archived;
+
+    private HikariDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+
+    @Setup
+    public void setUp() {
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername(username);
+        dataSource.setPassword(password);
+        dataSource.setMaximumPoolSize(16);
+        Flyway.configure().dataSource(dataSource).load().migrate();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+
+        jdbcTemplate.update("DELETE FROM transactions_archive");
+        jdbcTemplate.update("DELETE FROM transactions");
+        jdbcTemplate.update("DELETE FROM monthly_summaries");
+        jdbcTemplate.update("DELETE FROM budgets");
+        jdbcTemplate.update("DELETE FROM savings");
+        jdbcTemplate.update("DELETE FROM users");
+        List<Object[]> userRows = new ArrayList<>(users);
+        for (long id = 1; id <= users; id++) {
+            userRows.add(new Object[] { id, "user_bench_" + id, "bench" + id + "@example.com" });
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO users (id, clerk_id, email) VALUES (?, ?, ?)", userRows);
+        insertHistory();
+
+        if (archived) {
+            TransactionArchiveService archiveService = new TransactionArchiveService(jdbcTemplate,
+                    new DataSourceTransactionManager(dataSource), true, HORIZON, 5_000);
+            long started = System.nanoTime();
+            int moved = archiveService.archiveBefore(BenchmarkData.TODAY.minus(HORIZON));
+            System.out.println("Archived " + moved + " rows in " + (System.nanoTime() - started) / 1_000_000
+                    + " ms");
+        }
+        printSizes();
+    }
+
+    @TearDown
+    public void tearDown() {
+        dataSource.close();
+    }
+
+    @Benchmark
+    public int firstPage() {
+        long userId = 1 + ThreadLocalRandom.current().nextInt(users);
+        List<Map<String, Object>> page = jdbcTemplate.queryForList(HOT_PAGE_SQL, userId, PAGE_SIZE + 1);
+        if (archived) {
+            Object oldest = page.size() > PAGE_SIZE
+                    ? page.get(PAGE_SIZE).get("date")
+                    : Date.valueOf(LocalDate.EPOCH);
+            page.addAll(jdbcTemplate.queryForList(ARCHIVE_PAGE_SQL, userId, oldest, PAGE_SIZE + 1));
+        }
+        return page.size();
+    }
+
+    @Benchmark
+    public int insert() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        BigDecimal amount = BigDecimal.valueOf(100 + random.nextInt(500_000), 2);
+        return jdbcTemplate.update(TransactionImportService.INSERT_SQL, 1 + random.nextInt(users), "EXPENSE",
+                CATEGORIES[random.nextInt(CATEGORIES.length)], amount, amount, "INR", BigDecimal.ONE,
+                Date.valueOf(BenchmarkData.TODAY), "benchmark");
+    }
+
+    private void insertHistory() {
+        Random random = new Random(BenchmarkData.SEED);
+        List<Object[]> batch = new ArrayList<>(INSERT_BATCH);
+        for (int i = 0; i < rows; i++) {
+            BigDecimal amount = BigDecimal.valueOf(100 + random.nextInt(500_000), 2);
+            batch.add(new Object[] { 1 + random.nextInt(users), "EXPENSE",
+                    CATEGORIES[random.nextInt(CATEGORIES.length)], amount, amount, "INR", BigDecimal.ONE,
+                    Date.valueOf(BenchmarkData.TODAY.minusDays(random.nextInt(BenchmarkData.HISTORY_DAYS))),
+                    "benchmark" });
+            if (batch.size() == INSERT_BATCH || i == rows - 1) {
+                jdbcTemplate.batchUpdate(TransactionImportService.INSERT_SQL, batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private void printSizes() {
+        for (String table : List.of("transactions", "transactions_archive")) {
+            System.out.println(table + ": " + jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table,
+                    Long.class) + " rows");
+        }
+        try {
+            jdbcTemplate.query("SELECT table_name, data_length, index_length FROM information_schema.tables "
+                    + "WHERE table_schema = DATABASE() AND table_name IN ('transactions', 'transactions_archive')",
+                    rs -> {
+                        System.out.println(rs.getString(1) + ": " + rs.getLong(2) + " data bytes, "
+                                + rs.getLong(3) + " index bytes");
+                    });
+        } catch (DataAccessException e) {
+            // H2 does not report per-table sizes; the row counts above still show the split
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package com.budgetwise.backend.service;
+
+import com.budgetwise.backend.dto.TransactionDTO;
+import com.budgetwise.backend.entity.Transaction;
+import com.budgetwise.backend.entity.User;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.flywaydb.core.Flyway;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rows per second for the bulk import (JDBC batches, one commit per chunk), fed
+ * as CSV or as a JSON array, against one single-row insert and commit per
+ * transaction, which is what a client replaying history through
+ * POST /api/transactions costs at minimum. The monthly rollup upserts are left
+ * out of every path. Defaults to an in-memory H2 database migrated with the
+ * production scripts, which never waits for fsync; the gap that matters is on
+ * MySQL, e.g. {@code -Djmh.args="TransactionImport -p username=.. -p password=..
+ * -p url=jdbc:mysql://localhost/bench?rewriteBatchedStatements=true"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class TransactionImportBenchmark {
+
+    private static final Map<String, BigDecimal> RATES = Map.of("USD", new BigDecimal("85.00"),
+            "EUR", new BigDecimal("92.00"), "GBP", new BigDecimal("108.00"));
+
+    @Param({ "jdbc:h2:mem:import_benchmark;MODE=MySQL;DATABASE_TO_LOWER=TRUE;"
+            + "NON_KEYWORDS=YEAR,MONTH,VALUE;DB_CLOSE_DELAY=-1" })
+    public String url;
+
+    @Param({ "sa" })
+    public String username;
+
+    @Param({ "" })
+    public String password;
+
+    @Param({ "1000", "10000" })
+    public int rows;
+
+    @Param({ "500" })
+    public int batchSize;
+
+    private HikariDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private TransactionImportService importService;
+    private List<Transaction> transactions;
+    private byte[] csv;
+    private byte[] json;
+
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class RowCounter {
+        public long rowsImported;
+    }
+
+    @Setup
+    public void setUp() throws IOException {
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername(username);
+        dataSource.setPassword(password);
+        Flyway.configure().dataSource(dataSource).load().migrate();
+
+        User user = BenchmarkData.user();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.update("DELETE FROM transactions WHERE user_id = ?", user.getId());
+        jdbcTemplate.update("DELETE FROM users WHERE id = ?", user.getId());
+        jdbcTemplate.update("INSERT INTO users (id, clerk_id, name, email) VALUES (?, ?, ?, ?)",
+                user.getId(), user.getClerkId(), user.getName(), user.getEmail());
+
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+
+        CurrentUserResolver resolver = new CurrentUserResolver(null) {
+            @Override
+            public User resolve(String clerkId) {
+                return user;
+            }
+        };
+        // Fixed rates keep the open.er-api.com call out of the measurement
+        CurrencyService currencyService = new CurrencyService(Duration.ofHours(6), null, Duration.ofDays(7),
+                Duration.ofSeconds(2), Duration.ofSeconds(5), Duration.ofMinutes(1),
+                new OutboundCallMetrics(new SimpleMeterRegistry()), null) {
+            @Override
+            public BigDecimal getExchangeRate(String fromCurrency, String toCurrency, LocalDate date) {
+                return RATES.getOrDefault(fromCurrency, BigDecimal.ONE);
+            }
+        };
+        MonthlySummaryService monthlySummaryService = new MonthlySummaryService(null, null, null) {
+            @Override
+            public void recordTransactions(Long userId, Collection<Transaction> batch) {
+            }
+        };
+        JsonMapper jsonMapper = new JsonMapper();
+        importService = new TransactionImportService(resolver, currencyService, monthlySummaryService,
+                jdbcTemplate, transactionManager, jsonMapper, event -> {
+                }, batchSize);
+
+        transactions = BenchmarkData.transactions(rows);
+        StringWriter out = new StringWriter();
+        out.write("Date,Type,Category,Amount (INR),Original Amount,Original Currency,Description\n");
+        for (Transaction t : transactions) {
+            ExportService.writeRow(out, TransactionService.mapToDTO(t));
+        }
+        csv = out.toString().getBytes(StandardCharsets.UTF_8);
+        json = jsonMapper.writeValueAsBytes(transactions.stream().map(TransactionService::mapToDTO).toList());
+    }
+
+    // Each call imports into an empty table; invocations take milliseconds, so the setup cost is not measured
+    @Setup(Level.Invocation)
+    public void truncate() {
+        jdbcTemplate.update("DELETE FROM transactions WHERE user_id = ?", BenchmarkData.user().getId());
+    }
+
+    @TearDown
+    public void tearDown() {
+        dataSource.close();
+    }
+
+    @Benchmark
+    public long bulkImport(RowCounter counter) throws IOException {
+        long imported = importService.importCsv("user_benchmark", new ByteArrayInputStream(csv)).getImported();
+        counter.rowsImported += imported;
+        return imported;
+    }
+
+    @Benchmark
+    public long bulkImportJson(RowCounter counter) {
+        long imported = importService.importJson("user_benchmark", new ByteArrayInputStream(json)).getImported();
+        counter.rowsImported += imported;
+        return imported;
+    }
+
+    @Benchmark
+    public long singleRowCommits(RowCounter counter) {
+        for (Transaction t : transactions) {
+            TransactionDTO row = TransactionService.mapToDTO(t);
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.update(TransactionImportService.INSERT_SQL,
+                    row.getUserId(), row.getType().name(), row.getCategory(), row.getAmount(),
+                    row.getOriginalAmount(), row.getOriginalCurrency(), row.getConversionRate(),
+                    Date.valueOf(row.getDate()), row.getDescription()));
+        }
+        counter.rowsImported += transactions.size();
+        return transactions.size();
+    }
+}
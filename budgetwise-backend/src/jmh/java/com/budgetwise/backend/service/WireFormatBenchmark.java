@@ -0,0 +1,107 @@
+package com.budgetwise.backend.service;
+
+import com.budgetwise.backend.dto.TransactionDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.cbor.CBORWriteFeature;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serializing a GET /api/transactions body: CPU per response for JSON and
+ * CBOR, alone and gzipped as the server compresses them. Payload sizes are
+ * printed once at setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class WireFormatBenchmark {
+
+    @Param({ "10000" })
+    public int rows;
+
+    private List<TransactionDTO> body;
+    private ObjectMapper json;
+    private ObjectMapper cbor;
+    private ObjectMapper cborStringRefs;
+
+    @Setup
+    public void setUp() {
+        body = BenchmarkData.transactions(rows).stream().map(TransactionService::mapToDTO).toList();
+        json = JsonMapper.builder().build();
+        cbor = CBORMapper.builder().build();
+        // Repeated field names and enum values sent once, then referenced (needs a stringref-aware client)
+        cborStringRefs = CBORMapper.builder().enable(CBORWriteFeature.STRINGREF).build();
+
+        try {
+            System.out.printf("%n%d rows: json %d B, cbor %d B, cbor+stringref %d B, json+gzip %d B, "
+                    + "cbor+gzip %d B, json+gzip(level 1) %d B%n", rows, json().length, cbor().length,
+                    cborStringRefs().length, jsonGzip().length, cborGzip().length, jsonGzipFast().length);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Benchmark
+    public byte[] json() {
+        return json.writeValueAsBytes(body);
+    }
+
+    @Benchmark
+    public byte[] cbor() {
+        return cbor.writeValueAsBytes(body);
+    }
+
+    @Benchmark
+    public byte[] cborStringRefs() {
+        return cborStringRefs.writeValueAsBytes(body);
+    }
+
+    @Benchmark
+    public byte[] jsonGzip() throws IOException {
+        return gzip(json.writeValueAsBytes(body), Deflater.DEFAULT_COMPRESSION);
+    }
+
+    @Benchmark
+    public byte[] cborGzip() throws IOException {
+        return gzip(cbor.writeValueAsBytes(body), Deflater.DEFAULT_COMPRESSION);
+    }
+
+    // Tomcat always deflates at the default level; this shows what a faster level would trade
+    @Benchmark
+    public byte[] jsonGzipFast() throws IOException {
+        return gzip(json.writeValueAsBytes(body), Deflater.BEST_SPEED);
+    }
+
+    private static byte[] gzip(byte[] bytes, int level) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out) {
+            {
+                def.setLevel(level);
+            }
+        }) {
+            gzip.write(bytes);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,76 @@
+package com.budgetwise.backend.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Per-request database work: how many SQL statements and hydrated entities each
+ * endpoint costs, published as distributions tagged by HTTP method and URI
+ * template (never the raw path, which would embed ids).
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer requestQueryCounterInspector() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, RequestQueryCounter.INSTANCE);
+    }
+
+    @Bean
+    public SmartInitializingSingleton requestQueryCounterLoadListener(EntityManagerFactory entityManagerFactory) {
+        return () -> entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .requireService(EventListenerRegistry.class)
+                .appendListeners(EventType.POST_LOAD, RequestQueryCounter.INSTANCE);
+    }
+
+    @Bean
+    public OncePerRequestFilter requestQueryMetricsFilter(MeterRegistry registry) {
+        return new OncePerRequestFilter() {
+            @Override
+            protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                    FilterChain chain) throws ServletException, IOException {
+                RequestQueryCounter.Counts counts = RequestQueryCounter.begin();
+                try {
+                    chain.doFilter(request, response);
+                } finally {
+                    RequestQueryCounter.end();
+                    Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                    String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+                    record(registry, "budgetwise.request.sql.statements", "SQL statements per request",
+                            request.getMethod(), uri, counts.statements.sum());
+                    record(registry, "budgetwise.request.entities.loaded", "Entities hydrated per request",
+                            request.getMethod(), uri, counts.entities.sum());
+                }
+            }
+        };
+    }
+
+    private static void record(MeterRegistry registry, String name, String description, String method, String uri,
+            long value) {
+        DistributionSummary.builder(name)
+                .description(description)
+                .tag("method", method)
+                .tag("uri", uri)
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(value);
+    }
+}
@@ -0,0 +1,116 @@
+package com.budgetwise.backend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Read/write split, active when {@code datasource.replica.url} is set. Read-only
+ * transactions ({@code @Transactional(readOnly = true)} and read-only templates)
+ * run on the replica pool and everything else on the primary. The choice is made
+ * when the transaction first touches the database, after its read-only flag is
+ * known. A user's reads stay on the primary for the read-your-writes window
+ * after any change they make.
+ */
+@Configuration
+@ConditionalOnProperty(name = "datasource.replica.url")
+public class ReadReplicaConfig {
+
+    private static final Set<String> SAFE_METHODS = Set.of("GET", "HEAD", "OPTIONS", "TRACE");
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @ConfigurationProperties("datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(DataSourceProperties properties,
+            @Value("${datasource.replica.url}") String url,
+            @Value("${datasource.replica.username:${spring.datasource.username:}}") String username,
+            @Value("${datasource.replica.password:${spring.datasource.password:}}") String password) {
+        HikariDataSource replica = properties.initializeDataSourceBuilder().type(HikariDataSource.class)
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+        replica.setPoolName("replica");
+        replica.setReadOnly(true);
+        return replica;
+    }
+
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker(
+            @Value("${datasource.replica.read-your-writes-window:5s}") Duration window,
+            @Value("${users.id-cache.max-size:10000}") long maxSize) {
+        return new ReadYourWritesTracker(window, maxSize);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+            @Qualifier("replicaDataSource") DataSource replica, ReadYourWritesTracker tracker) {
+        return routing(primary, replica, tracker);
+    }
+
+    // Marks the caller before a mutating request runs (so the mark always precedes the response)
+    // and again afterwards, so the window counts from the commit
+    @Bean
+    public OncePerRequestFilter readYourWritesFilter(ReadYourWritesTracker tracker) {
+        return new OncePerRequestFilter() {
+            @Override
+            protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                    FilterChain chain) throws ServletException, IOException {
+                String clerkId = SAFE_METHODS.contains(request.getMethod())
+                        ? null
+                        : ReadYourWritesTracker.currentClerkId();
+                if (clerkId != null) {
+                    tracker.recordWrite(clerkId);
+                }
+                try {
+                    chain.doFilter(request, response);
+                } finally {
+                    if (clerkId != null) {
+                        tracker.recordWrite(clerkId);
+                    }
+                }
+            }
+        };
+    }
+
+    static DataSource routing(DataSource primary, DataSource replica, ReadYourWritesTracker tracker) {
+        AbstractRoutingDataSource readOnly = new AbstractRoutingDataSource() {
+            @Override
+            protected Object determineCurrentLookupKey() {
+                return tracker.currentUserRecentlyWrote() ? "primary" : "replica";
+            }
+        };
+        readOnly.setTargetDataSources(Map.<Object, Object>of("primary", primary, "replica", replica));
+        readOnly.setDefaultTargetDataSource(replica);
+        readOnly.initialize();
+
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(primary);
+        proxy.setReadOnlyDataSource(readOnly);
+        return proxy;
+    }
+}
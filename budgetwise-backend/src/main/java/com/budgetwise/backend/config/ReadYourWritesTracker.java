@@ -0,0 +1,42 @@
+package com.budgetwise.backend.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import java.time.Duration;
+
+/**
+ * Users who changed their data within the read-your-writes window. Their reads
+ * stay on the primary until the window has passed, so a replica that is a few
+ * seconds behind never shows someone an edit they just made as missing. The
+ * current user comes from the SecurityContext, which the dashboard fan-out
+ * executor also carries.
+ */
+public class ReadYourWritesTracker {
+
+    private final Cache<String, Boolean> recentWriters;
+
+    public ReadYourWritesTracker(Duration window, long maxSize) {
+        this.recentWriters = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(window)
+                .build();
+    }
+
+    public void recordWrite(String clerkId) {
+        recentWriters.put(clerkId, Boolean.TRUE);
+    }
+
+    public boolean currentUserRecentlyWrote() {
+        String clerkId = currentClerkId();
+        return clerkId != null && recentWriters.getIfPresent(clerkId) != null;
+    }
+
+    static String currentClerkId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.getPrincipal() instanceof Jwt jwt ? jwt.getSubject() : null;
+    }
+}
@@ -0,0 +1,82 @@
+package com.budgetwise.backend.config;
+
+import org.hibernate.event.spi.PostLoadEvent;
+import org.hibernate.event.spi.PostLoadEventListener;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts the SQL statements Hibernate prepares and the entities it hydrates on
+ * behalf of the current request. Work on other threads only counts when its task
+ * was wrapped with {@link #propagate(Callable)}, as the dashboard's parallel
+ * budget and savings loads are; a thread merely started during a request (a
+ * background refresh, a pooled worker) never counts toward it. Statements
+ * issued through JdbcTemplate are not seen.
+ */
+public final class RequestQueryCounter implements StatementInspector, PostLoadEventListener {
+
+    static final RequestQueryCounter INSTANCE = new RequestQueryCounter();
+
+    private static final ThreadLocal<Counts> CURRENT = new ThreadLocal<>();
+
+    private RequestQueryCounter() {
+    }
+
+    static Counts begin() {
+        Counts counts = new Counts();
+        CURRENT.set(counts);
+        return counts;
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Wraps a task so that what it runs counts toward the request submitting it.
+     * The worker's own counts are restored when the task ends.
+     */
+    public static <T> Callable<T> propagate(Callable<T> task) {
+        Counts counts = CURRENT.get();
+        if (counts == null) {
+            return task;
+        }
+        return () -> {
+            Counts previous = CURRENT.get();
+            CURRENT.set(counts);
+            try {
+                return task.call();
+            } finally {
+                if (previous != null) {
+                    CURRENT.set(previous);
+                } else {
+                    CURRENT.remove();
+                }
+            }
+        };
+    }
+
+    @Override
+    public String inspect(String sql) {
+        Counts counts = CURRENT.get();
+        if (counts != null) {
+            counts.statements.increment();
+        }
+        return sql;
+    }
+
+    @Override
+    public void onPostLoad(PostLoadEvent event) {
+        Counts counts = CURRENT.get();
+        if (counts != null) {
+            counts.entities.increment();
+        }
+    }
+
+    static final class Counts {
+        final LongAdder statements = new LongAdder();
+        final LongAdder entities = new LongAdder();
+    }
+}
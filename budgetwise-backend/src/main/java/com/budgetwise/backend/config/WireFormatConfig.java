@@ -0,0 +1,21 @@
+package com.budgetwise.backend.config;
+
+import org.springframework.boot.http.converter.autoconfigure.ServerHttpMessageConvertersCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.JacksonCborHttpMessageConverter;
+import tools.jackson.dataformat.cbor.CBORMapper;
+
+/**
+ * CBOR responses for clients that send Accept: application/cbor. Spring MVC
+ * would otherwise build its own CBORMapper; using Boot's keeps the
+ * spring.jackson.cbor.* settings in effect.
+ */
+@Configuration
+public class WireFormatConfig {
+
+    @Bean
+    public ServerHttpMessageConvertersCustomizer cborMessageConverter(CBORMapper cborMapper) {
+        return builder -> builder.withCborConverter(new JacksonCborHttpMessageConverter(cborMapper));
+    }
+}
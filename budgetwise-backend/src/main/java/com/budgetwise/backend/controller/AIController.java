@@ -1,13 +1,16 @@
 package com.budgetwise.backend.controller;
 
 import com.budgetwise.backend.service.AIService;
+import org.springframework.http.MediaType;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/ai")
@@ -19,10 +22,16 @@ public class AIController {
         this.aiService = aiService;
     }
 
+    // Async: the Tomcat worker is released while the call queues for Gemini, so other endpoints keep their threads
     @PostMapping("/advice")
-    public Map<String, String> getBudgetAdvice(@AuthenticationPrincipal Jwt jwt) {
+    public CompletableFuture<Map<String, String>> getBudgetAdvice(@AuthenticationPrincipal Jwt jwt) {
         String clerkId = jwt.getSubject();
-        String advice = aiService.getBudgetAdvice(clerkId);
-        return Map.of("advice", advice);
+        return aiService.getBudgetAdvice(clerkId).thenApply(advice -> Map.of("advice", advice));
+    }
+
+    @PostMapping(value = "/advice/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamBudgetAdvice(@AuthenticationPrincipal Jwt jwt) {
+        String clerkId = jwt.getSubject();
+        return aiService.streamBudgetAdvice(clerkId);
     }
 }
@@ -0,0 +1,45 @@
+package com.budgetwise.backend.controller;
+
+import com.budgetwise.backend.dto.AnalyticsDTO;
+import com.budgetwise.backend.service.AnalyticsService;
+import com.budgetwise.backend.service.DataVersion;
+import com.budgetwise.backend.service.DataVersionService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/api/analytics")
+public class AnalyticsController {
+
+    private final AnalyticsService analyticsService;
+    private final DataVersionService dataVersionService;
+
+    public AnalyticsController(AnalyticsService analyticsService, DataVersionService dataVersionService) {
+        this.analyticsService = analyticsService;
+        this.dataVersionService = dataVersionService;
+    }
+
+    // Range totals (default: the last 90 days) plus a series of whole months ending with the range's last month
+    @GetMapping
+    public AnalyticsDTO getAnalytics(@AuthenticationPrincipal Jwt jwt,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "12") int months,
+            ServletWebRequest request) {
+        String clerkId = jwt.getSubject();
+        DataVersion version = dataVersionService.current(clerkId);
+        // The default range ends today, so the tag also rolls over at midnight
+        if (ConditionalGet.notModified(request, version.etag(LocalDate.now()))) {
+            return null;
+        }
+        return analyticsService.getAnalytics(version, from, to, months);
+    }
+}
@@ -2,9 +2,12 @@ package com.budgetwise.backend.controller;
 
 import com.budgetwise.backend.dto.BudgetDTO;
 import com.budgetwise.backend.service.BudgetService;
+import com.budgetwise.backend.service.DataVersionService;
+import org.springframework.http.MediaType;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import java.util.List;
 
@@ -13,9 +16,11 @@ import java.util.List;
 public class BudgetController {
 
     private final BudgetService budgetService;
+    private final DataVersionService dataVersionService;
 
-    public BudgetController(BudgetService budgetService) {
+    public BudgetController(BudgetService budgetService, DataVersionService dataVersionService) {
         this.budgetService = budgetService;
+        this.dataVersionService = dataVersionService;
     }
 
     @PostMapping
@@ -28,12 +33,16 @@ public class BudgetController {
         return budgetService.createBudget(jwt.getSubject(), dto);
     }
 
-    @GetMapping
+    @GetMapping(produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE })
     public List<BudgetDTO> getAllBudgets(@AuthenticationPrincipal Jwt jwt,
             @RequestParam(required = false) String category,
             @RequestParam(required = false) Integer month,
-            @RequestParam(required = false) Integer year) {
+            @RequestParam(required = false) Integer year,
+            ServletWebRequest request) {
         String clerkId = jwt.getSubject();
+        if (ConditionalGet.notModified(request, dataVersionService.current(clerkId).etag())) {
+            return null;
+        }
         return budgetService.getAllBudgets(clerkId, category, month, year);
     }
 
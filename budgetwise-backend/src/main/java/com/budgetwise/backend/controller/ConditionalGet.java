@@ -0,0 +1,72 @@
+package com.budgetwise.backend.controller;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * If-None-Match handling for the polled GET endpoints. Check before doing any
+ * work; when it returns true the handler returns null and a 304 is sent.
+ *
+ * <p>The data-version tags are strong, so each one has to name a single body:
+ * an endpoint that also produces CBOR tags its CBOR responses apart from its
+ * JSON ones. Tomcat never compresses a response carrying a strong tag, so
+ * these responses go out uncompressed unless a proxy in front compresses them.
+ */
+final class ConditionalGet {
+
+    // Clients may keep the body but must revalidate; otherwise Spring Security sends no-store
+    private static final String CACHE_CONTROL = CacheControl.noCache().cachePrivate().getHeaderValue();
+
+    private ConditionalGet() {
+    }
+
+    static boolean notModified(ServletWebRequest request, String etag) {
+        request.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+        // The body, and so the tag, depends on Accept
+        request.getResponse().addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        MediaType format = negotiatedFormat(request);
+        if (!MediaType.APPLICATION_JSON.equals(format)) {
+            etag = etag.substring(0, etag.length() - 1) + "-" + format.getSubtype() + "\"";
+        }
+        return request.checkNotModified(etag);
+    }
+
+    // The format Spring MVC will write, picked the same way: the client's preference among what the
+    // handler produces, JSON when the handler declares nothing or the client has no preference
+    @SuppressWarnings("unchecked")
+    static MediaType negotiatedFormat(ServletWebRequest request) {
+        Collection<MediaType> producible = (Collection<MediaType>) request.getAttribute(
+                HandlerMapping.PRODUCIBLE_MEDIA_TYPES_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        if (producible == null || producible.isEmpty() || accept == null) {
+            return MediaType.APPLICATION_JSON;
+        }
+        List<MediaType> acceptable;
+        try {
+            acceptable = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException e) {
+            return MediaType.APPLICATION_JSON; // Spring MVC rejects the request when it writes
+        }
+        MimeTypeUtils.sortBySpecificity(acceptable);
+        List<MediaType> usable = new ArrayList<>();
+        for (MediaType requested : acceptable) {
+            for (MediaType offered : producible) {
+                if (requested.isCompatibleWith(offered)) {
+                    usable.add(offered.copyQualityValue(requested));
+                }
+            }
+        }
+        MimeTypeUtils.sortBySpecificity(usable);
+        return usable.isEmpty() ? MediaType.APPLICATION_JSON : usable.get(0).removeQualityValue();
+    }
+}
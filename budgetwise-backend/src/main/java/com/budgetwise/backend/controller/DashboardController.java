@@ -2,25 +2,37 @@ package com.budgetwise.backend.controller;
 
 import com.budgetwise.backend.dto.DashboardDTO;
 import com.budgetwise.backend.service.DashboardService;
+import com.budgetwise.backend.service.DataVersion;
+import com.budgetwise.backend.service.DataVersionService;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.time.LocalDate;
 
 @RestController
 @RequestMapping("/api/dashboard")
 public class DashboardController {
 
     private final DashboardService dashboardService;
+    private final DataVersionService dataVersionService;
 
-    public DashboardController(DashboardService dashboardService) {
+    public DashboardController(DashboardService dashboardService, DataVersionService dataVersionService) {
         this.dashboardService = dashboardService;
+        this.dataVersionService = dataVersionService;
     }
 
     @GetMapping
-    public DashboardDTO getDashboardData(@AuthenticationPrincipal Jwt jwt) {
+    public DashboardDTO getDashboardData(@AuthenticationPrincipal Jwt jwt, ServletWebRequest request) {
         String clerkId = jwt.getSubject();
-        return dashboardService.getDashboardData(clerkId);
+        DataVersion version = dataVersionService.current(clerkId);
+        // Current-month figures roll over at midnight even without a data change
+        if (ConditionalGet.notModified(request, version.etag(LocalDate.now()))) {
+            return null;
+        }
+        return dashboardService.getDashboardData(clerkId, version);
     }
 }
@@ -1,7 +1,7 @@
 package com.budgetwise.backend.controller;
 
 import com.budgetwise.backend.service.ExportService;
-import org.springframework.core.io.InputStreamResource;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -9,9 +9,11 @@ import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.io.ByteArrayInputStream;
+import java.time.LocalDate;
 
 @RestController
 @RequestMapping("/api/export")
@@ -24,9 +26,12 @@ public class ExportController {
     }
 
     @GetMapping("/csv")
-    public ResponseEntity<InputStreamResource> exportToCSV(@AuthenticationPrincipal Jwt jwt) {
+    public ResponseEntity<StreamingResponseBody> exportToCSV(@AuthenticationPrincipal Jwt jwt,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String category) {
         String clerkId = jwt.getSubject();
-        ByteArrayInputStream in = exportService.exportTransactionsToCSV(clerkId);
+        StreamingResponseBody body = exportService.exportTransactionsToCSV(clerkId, from, to, category);
 
         HttpHeaders headers = new HttpHeaders();
         headers.add("Content-Disposition", "attachment; filename=transactions.csv");
@@ -35,6 +40,6 @@ public class ExportController {
                 .ok()
                 .headers(headers)
                 .contentType(MediaType.parseMediaType("application/csv"))
-                .body(new InputStreamResource(in));
+                .body(body);
     }
 }
@@ -1,10 +1,13 @@
 package com.budgetwise.backend.controller;
 
 import com.budgetwise.backend.dto.SavingsDTO;
+import com.budgetwise.backend.service.DataVersionService;
 import com.budgetwise.backend.service.SavingsService;
+import org.springframework.http.MediaType;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import java.util.List;
 
@@ -13,9 +16,11 @@ import java.util.List;
 public class SavingsController {
 
     private final SavingsService savingsService;
+    private final DataVersionService dataVersionService;
 
-    public SavingsController(SavingsService savingsService) {
+    public SavingsController(SavingsService savingsService, DataVersionService dataVersionService) {
         this.savingsService = savingsService;
+        this.dataVersionService = dataVersionService;
     }
 
     @PostMapping
@@ -28,11 +33,16 @@ public class SavingsController {
         return savingsService.createOrUpdateSavings(jwt.getSubject(), dto);
     }
 
-    @GetMapping
+    @GetMapping(produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE })
     public List<SavingsDTO> getAllSavings(@AuthenticationPrincipal Jwt jwt,
             @RequestParam(required = false) Integer month,
-            @RequestParam(required = false) Integer year) {
-        return savingsService.getAllSavings(jwt.getSubject(), month, year);
+            @RequestParam(required = false) Integer year,
+            ServletWebRequest request) {
+        String clerkId = jwt.getSubject();
+        if (ConditionalGet.notModified(request, dataVersionService.current(clerkId).etag())) {
+            return null;
+        }
+        return savingsService.getAllSavings(clerkId, month, year);
     }
 
     @DeleteMapping("/{id}")
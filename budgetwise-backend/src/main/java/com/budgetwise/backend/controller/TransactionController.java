@@ -1,11 +1,23 @@
 package com.budgetwise.backend.controller;
 
+import com.budgetwise.backend.dto.ImportResultDTO;
 import com.budgetwise.backend.dto.TransactionDTO;
+import com.budgetwise.backend.dto.TransactionPageDTO;
+import com.budgetwise.backend.entity.Transaction;
+import com.budgetwise.backend.service.DataVersionService;
+import com.budgetwise.backend.service.GroupCommitTransactionWriter;
+import com.budgetwise.backend.service.TransactionImportService;
 import com.budgetwise.backend.service.TransactionService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 
+import java.io.IOException;
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -13,23 +25,67 @@ import java.util.List;
 public class TransactionController {
 
     private final TransactionService transactionService;
+    private final TransactionImportService transactionImportService;
+    private final DataVersionService dataVersionService;
+    private final GroupCommitTransactionWriter groupCommitWriter;
 
-    public TransactionController(TransactionService transactionService) {
+    public TransactionController(TransactionService transactionService,
+            TransactionImportService transactionImportService, DataVersionService dataVersionService,
+            GroupCommitTransactionWriter groupCommitWriter) {
         this.transactionService = transactionService;
+        this.transactionImportService = transactionImportService;
+        this.dataVersionService = dataVersionService;
+        this.groupCommitWriter = groupCommitWriter;
     }
 
     @PostMapping
     public TransactionDTO createTransaction(@AuthenticationPrincipal Jwt jwt, @RequestBody TransactionDTO dto) {
         String clerkId = jwt.getSubject();
+        // With transactions.group-commit.enabled, concurrent creates share one commit
+        if (groupCommitWriter.isEnabled()) {
+            return groupCommitWriter.createTransaction(clerkId, dto);
+        }
         return transactionService.createTransaction(clerkId, dto);
     }
 
-    @GetMapping
-    public List<TransactionDTO> getAllTransactions(@AuthenticationPrincipal Jwt jwt) {
+    // Bulk backfill; the body is streamed, never buffered whole
+    @PostMapping(value = "/import", consumes = { "text/csv", MediaType.APPLICATION_JSON_VALUE })
+    public ImportResultDTO importTransactions(@AuthenticationPrincipal Jwt jwt, HttpServletRequest request)
+            throws IOException {
         String clerkId = jwt.getSubject();
+        if (MediaType.parseMediaType(request.getContentType()).isCompatibleWith(MediaType.APPLICATION_JSON)) {
+            return transactionImportService.importJson(clerkId, request.getInputStream());
+        }
+        return transactionImportService.importCsv(clerkId, request.getInputStream());
+    }
+
+    // JSON by default; Accept: application/cbor selects the compact binary encoding
+    @GetMapping(produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE })
+    public List<TransactionDTO> getAllTransactions(@AuthenticationPrincipal Jwt jwt, ServletWebRequest request) {
+        String clerkId = jwt.getSubject();
+        if (ConditionalGet.notModified(request, dataVersionService.current(clerkId).etag())) {
+            return null;
+        }
         return transactionService.getAllTransactions(clerkId);
     }
 
+    // Paginated mode, selected when a limit is supplied
+    @GetMapping(params = "limit", produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE })
+    public TransactionPageDTO getTransactionsPage(@AuthenticationPrincipal Jwt jwt,
+            @RequestParam int limit,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Transaction.TransactionType type,
+            @RequestParam(required = false) String category,
+            ServletWebRequest request) {
+        String clerkId = jwt.getSubject();
+        if (ConditionalGet.notModified(request, dataVersionService.current(clerkId).etag())) {
+            return null;
+        }
+        return transactionService.getTransactionsPage(clerkId, limit, cursor, from, to, type, category);
+    }
+
     @DeleteMapping("/{id}")
     public void deleteTransaction(@PathVariable Long id) {
         transactionService.deleteTransaction(id);
@@ -0,0 +1,22 @@
+package com.budgetwise.backend.dto;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+@Data
+public class AnalyticsDTO {
+    // Totals for the requested range, both ends inclusive
+    private LocalDate from;
+    private LocalDate to;
+    private BigDecimal totalIncome;
+    private BigDecimal totalExpense;
+    private BigDecimal balance;
+    private Map<String, BigDecimal> expenseByCategory;
+
+    // Whole calendar months, oldest first, ending with the month of 'to'
+    private List<MonthlyTotalsDTO> monthly;
+}
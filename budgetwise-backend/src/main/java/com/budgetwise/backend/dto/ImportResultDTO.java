@@ -0,0 +1,19 @@
+package com.budgetwise.backend.dto;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class ImportResultDTO {
+    private long imported;
+    private long rejected;
+    private List<RejectedRow> rejectedRows = new ArrayList<>(); // capped, see TransactionImportService
+
+    @Data
+    public static class RejectedRow {
+        private final long row; // 1-based data row, header excluded
+        private final String reason;
+    }
+}
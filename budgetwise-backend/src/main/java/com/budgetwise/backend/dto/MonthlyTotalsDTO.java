@@ -0,0 +1,17 @@
+package com.budgetwise.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MonthlyTotalsDTO {
+    private Integer year;
+    private Integer month;
+    private BigDecimal income;
+    private BigDecimal expense;
+}
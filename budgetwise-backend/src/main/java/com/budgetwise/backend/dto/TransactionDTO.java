@@ -1,12 +1,16 @@
 package com.budgetwise.backend.dto;
 
 import com.budgetwise.backend.entity.Transaction.TransactionType;
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 
 @Data
+@NoArgsConstructor
+@AllArgsConstructor // used by JPQL constructor expressions; keep field order in sync
 public class TransactionDTO {
     private Long id;
     private Long userId; // only need ID for reference in DTO
@@ -0,0 +1,11 @@
+package com.budgetwise.backend.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class TransactionPageDTO {
+    private List<TransactionDTO> items;
+    private String nextCursor; // null when there are no more rows
+}
@@ -0,0 +1,54 @@
+package com.budgetwise.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * A transaction moved out of the hot {@code transactions} table by
+ * {@code TransactionArchiveService}. Same columns and id as the original row;
+ * only the archival job inserts here, and listings and exports read it
+ * alongside the hot table.
+ */
+@Entity
+@Table(name = "transactions_archive", indexes = {
+        @Index(name = "idx_transactions_archive_user_date_id", columnList = "user_id, date, id") })
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchivedTransaction {
+
+    @Id
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Transaction.TransactionType type;
+
+    @Column(nullable = false)
+    private String category;
+
+    @Column(nullable = false)
+    private BigDecimal amount; // Stored in INR
+
+    @Column(nullable = false)
+    private BigDecimal originalAmount;
+
+    @Column(nullable = false)
+    private String originalCurrency;
+
+    private BigDecimal conversionRate;
+
+    @Column(nullable = false)
+    private LocalDate date;
+
+    private String description;
+}
@@ -8,7 +8,8 @@ import lombok.NoArgsConstructor;
 import java.math.BigDecimal;
 
 @Entity
-@Table(name = "budgets")
+@Table(name = "budgets", uniqueConstraints = @UniqueConstraint(name = "uk_budgets_user_period_category",
+        columnNames = { "user_id", "year", "month", "category" }))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
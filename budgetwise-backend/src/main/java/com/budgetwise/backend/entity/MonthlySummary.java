@@ -0,0 +1,49 @@
+package com.budgetwise.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Running per-user totals for one (year, month, type, category) bucket.
+ * Maintained by {@code MonthlySummaryService} alongside every transaction write,
+ * so aggregate views never have to scan the transactions table.
+ */
+@Entity
+@Table(name = "monthly_summaries", uniqueConstraints = @UniqueConstraint(name = "uk_monthly_summaries_bucket", columnNames = {
+        "user_id", "year", "month", "type", "category" }))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MonthlySummary {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @Column(nullable = false)
+    private Integer year;
+
+    @Column(nullable = false)
+    private Integer month;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Transaction.TransactionType type;
+
+    @Column(nullable = false)
+    private String category;
+
+    @Column(nullable = false)
+    private BigDecimal amount; // Stored in INR
+
+    @Column(nullable = false)
+    private Long transactionCount;
+}
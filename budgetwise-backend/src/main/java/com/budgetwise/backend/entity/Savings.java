@@ -8,7 +8,8 @@ import lombok.NoArgsConstructor;
 import java.math.BigDecimal;
 
 @Entity
-@Table(name = "savings")
+@Table(name = "savings", uniqueConstraints = @UniqueConstraint(name = "uk_savings_user_period",
+        columnNames = { "user_id", "year", "month" }))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -4,6 +4,7 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 
 @Entity
 @Table(name = "users")
@@ -24,4 +25,9 @@ public class User {
     @Column(unique = true)
     private String email;
 
+    // Only ever incremented in the database (see DataVersionService); saving the entity must not roll it back
+    @ColumnDefault("0")
+    @Column(nullable = false, insertable = false, updatable = false)
+    private Long dataVersion;
+
 }
@@ -0,0 +1,81 @@
+package com.budgetwise.backend.repository;
+
+import com.budgetwise.backend.dto.TransactionDTO;
+import com.budgetwise.backend.entity.ArchivedTransaction;
+import com.budgetwise.backend.entity.Transaction;
+import com.budgetwise.backend.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
+// Read side of the archive tier; the queries mirror TransactionRepository's so results merge with the hot table's
+@Repository
+public interface ArchivedTransactionRepository extends JpaRepository<ArchivedTransaction, Long> {
+
+    @Query("SELECT new com.budgetwise.backend.dto.TransactionDTO(a.id, a.user.id, a.type, a.category, a.amount, "
+            + "a.originalAmount, a.originalCurrency, a.conversionRate, a.date, a.description) "
+            + "FROM ArchivedTransaction a WHERE a.user = :user ORDER BY a.date DESC, a.id DESC")
+    List<TransactionDTO> findAllByUserOrderByDateDesc(User user);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = TransactionRepository.STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true") })
+    @Query("SELECT new com.budgetwise.backend.dto.TransactionDTO(a.id, a.user.id, a.type, a.category, a.amount, "
+            + "a.originalAmount, a.originalCurrency, a.conversionRate, a.date, a.description) "
+            + "FROM ArchivedTransaction a WHERE a.user.id = :userId "
+            + "AND (:from IS NULL OR a.date >= :from) AND (:to IS NULL OR a.date <= :to) "
+            + "AND (:category IS NULL OR a.category = :category) "
+            + "ORDER BY a.date DESC, a.id DESC")
+    Stream<TransactionDTO> streamForExport(Long userId, LocalDate from, LocalDate to, String category);
+
+    @Query("SELECT new com.budgetwise.backend.dto.TransactionDTO(a.id, a.user.id, a.type, a.category, a.amount, "
+            + "a.originalAmount, a.originalCurrency, a.conversionRate, a.date, a.description) "
+            + "FROM ArchivedTransaction a WHERE a.user.id = :userId "
+            + "AND (:from IS NULL OR a.date >= :from) AND (:to IS NULL OR a.date <= :to) "
+            + "AND (:type IS NULL OR a.type = :type) AND (:category IS NULL OR a.category = :category) "
+            + "AND (:afterDate IS NULL OR a.date < :afterDate OR (a.date = :afterDate AND a.id < :afterId)) "
+            + "ORDER BY a.date DESC, a.id DESC")
+    List<TransactionDTO> findPage(Long userId, LocalDate from, LocalDate to, Transaction.TransactionType type,
+            String category, LocalDate afterDate, Long afterId, Limit limit);
+
+    // Grouped like TransactionRepository.sumByDay, case variants apart
+    @Query(value = "SELECT a.type AS type, a.category AS category, a.date AS date, SUM(a.amount) AS amount "
+            + "FROM transactions_archive a WHERE a.user_id = :userId "
+            + "GROUP BY a.type, a.category, CAST(a.category AS BINARY(1020)), a.date ORDER BY a.date",
+            nativeQuery = true)
+    List<TransactionRepository.DayTotal> sumByDay(Long userId);
+
+    // Monthly buckets for rebuilding the rollup, which also covers archived rows; case variants apart, like
+    // MonthlySummaryRepository.rebuildFromTransactions
+    @Query(value = "SELECT a.user_id AS userId, EXTRACT(YEAR FROM a.date) AS year, "
+            + "EXTRACT(MONTH FROM a.date) AS month, a.type AS type, a.category AS category, "
+            + "SUM(a.amount) AS amount, COUNT(*) AS count FROM transactions_archive a "
+            + "GROUP BY a.user_id, EXTRACT(YEAR FROM a.date), EXTRACT(MONTH FROM a.date), a.type, a.category, "
+            + "CAST(a.category AS BINARY(1020))", nativeQuery = true)
+    List<MonthBucket> sumByMonth();
+
+    interface MonthBucket {
+        Long getUserId();
+
+        Integer getYear();
+
+        Integer getMonth();
+
+        Transaction.TransactionType getType();
+
+        String getCategory();
+
+        BigDecimal getAmount();
+
+        Long getCount();
+    }
+}
@@ -0,0 +1,113 @@
+package com.budgetwise.backend.repository;
+
+import com.budgetwise.backend.entity.MonthlySummary;
+import com.budgetwise.backend.entity.Transaction;
+import com.budgetwise.backend.entity.User;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Repository
+public interface MonthlySummaryRepository extends JpaRepository<MonthlySummary, Long> {
+    List<MonthlySummary> findByUser(User user);
+
+    // Dashboard totals: a handful of summed rows instead of every bucket as an entity.
+    // Read-only so that, with a replica configured, they are served from it
+    @Transactional(readOnly = true)
+    @Query("SELECT s.type AS type, SUM(s.amount) AS amount FROM MonthlySummary s WHERE s.user = :user "
+            + "GROUP BY s.type")
+    List<TypeTotal> sumByType(User user);
+
+    // Categories are case-sensitive, as they were when summed in Java: the category column is utf8mb4_bin (V7),
+    // so grouping on it keeps "Food" and "food" apart
+    @Transactional(readOnly = true)
+    @Query("SELECT s.category AS category, SUM(s.amount) AS amount FROM MonthlySummary s "
+            + "WHERE s.user = :user AND s.type = :type GROUP BY s.category")
+    List<CategoryTotal> sumByCategory(User user, Transaction.TransactionType type);
+
+    // Buckets are monthly, so a month is the finest range the rollup can answer
+    @Transactional(readOnly = true)
+    @Query("SELECT s.type AS type, s.category AS category, SUM(s.amount) AS amount FROM MonthlySummary s "
+            + "WHERE s.user = :user AND s.year = :year AND s.month = :month GROUP BY s.type, s.category")
+    List<TypeCategoryTotal> sumByTypeAndCategoryInMonth(User user, Integer year, Integer month);
+
+    @Query("SELECT s.year AS year, s.month AS month, LOWER(s.category) AS category, SUM(s.amount) AS amount "
+            + "FROM MonthlySummary s WHERE s.user = :user AND s.type = :type "
+            + "GROUP BY s.year, s.month, LOWER(s.category)")
+    List<CategoryMonthTotal> sumByMonthAndCategory(User user, Transaction.TransactionType type);
+
+    @Query("SELECT s.year AS year, s.month AS month, s.type AS type, SUM(s.amount) AS amount "
+            + "FROM MonthlySummary s WHERE s.user = :user GROUP BY s.year, s.month, s.type")
+    List<TypeMonthTotal> sumByMonthAndType(User user);
+
+    // Atomic upsert so concurrent writers to the same bucket never race on insert
+    @Modifying
+    @Query(value = "INSERT INTO monthly_summaries (user_id, year, month, type, category, amount, transaction_count) "
+            + "VALUES (:userId, :year, :month, :type, :category, :amount, :count) "
+            + "ON DUPLICATE KEY UPDATE amount = amount + VALUES(amount), "
+            + "transaction_count = transaction_count + VALUES(transaction_count)", nativeQuery = true)
+    void addToBucket(Long userId, Integer year, Integer month, String type, String category, BigDecimal amount,
+            Long count);
+
+    // The category column is utf8mb4_bin (V7), so this matches the bucket the upsert above wrote and no other
+    @Modifying
+    @Query("DELETE FROM MonthlySummary s WHERE s.user.id = :userId AND s.year = :year AND s.month = :month "
+            + "AND s.type = :type AND s.category = :category AND s.transactionCount <= 0")
+    void deleteEmptyBucket(Long userId, Integer year, Integer month,
+            Transaction.TransactionType type, String category);
+
+    // One-off backfill for rows recorded before the rollup existed. transactions.category keeps the default
+    // collation, so grouping on its binary cast is what keeps "Food" and "food" in buckets of their own
+    @Modifying
+    @Query(value = "INSERT INTO monthly_summaries (user_id, year, month, type, category, amount, transaction_count) "
+            + "SELECT t.user_id, EXTRACT(YEAR FROM t.date), EXTRACT(MONTH FROM t.date), t.type, t.category, "
+            + "SUM(t.amount), COUNT(*) FROM transactions t "
+            + "GROUP BY t.user_id, EXTRACT(YEAR FROM t.date), EXTRACT(MONTH FROM t.date), t.type, t.category, "
+            + "CAST(t.category AS BINARY(1020))", nativeQuery = true)
+    int rebuildFromTransactions();
+
+    interface TypeTotal {
+        Transaction.TransactionType getType();
+
+        BigDecimal getAmount();
+    }
+
+    interface CategoryTotal {
+        String getCategory();
+
+        BigDecimal getAmount();
+    }
+
+    interface TypeCategoryTotal {
+        Transaction.TransactionType getType();
+
+        String getCategory();
+
+        BigDecimal getAmount();
+    }
+
+    interface CategoryMonthTotal {
+        Integer getYear();
+
+        Integer getMonth();
+
+        String getCategory(); // lower-cased
+
+        BigDecimal getAmount();
+    }
+
+    interface TypeMonthTotal {
+        Integer getYear();
+
+        Integer getMonth();
+
+        Transaction.TransactionType getType();
+
+        BigDecimal getAmount();
+    }
+}
@@ -1,16 +1,26 @@
 package com.budgetwise.backend.repository;
 
+import com.budgetwise.backend.dto.TransactionDTO;
 import com.budgetwise.backend.entity.Transaction;
 import com.budgetwise.backend.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface TransactionRepository extends JpaRepository<Transaction, Long> {
+    // Rows pulled per round trip when streaming; MySQL honours it with useCursorFetch=true
+    String STREAM_FETCH_SIZE = "500";
+
     List<Transaction> findByUser(User user);
 
     List<Transaction> findByUserId(Long userId); // helper if needed
@@ -22,4 +32,46 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
 
     @Query("SELECT t FROM Transaction t WHERE t.user = :user ORDER BY t.date DESC")
     List<Transaction> findAllByUserOrderByDateDesc(User user);
+
+    // Forward-only DTO stream for exports; must be consumed inside a transaction and closed
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true") })
+    @Query("SELECT new com.budgetwise.backend.dto.TransactionDTO(t.id, t.user.id, t.type, t.category, t.amount, "
+            + "t.originalAmount, t.originalCurrency, t.conversionRate, t.date, t.description) "
+            + "FROM Transaction t WHERE t.user.id = :userId "
+            + "AND (:from IS NULL OR t.date >= :from) AND (:to IS NULL OR t.date <= :to) "
+            + "AND (:category IS NULL OR t.category = :category) "
+            + "ORDER BY t.date DESC, t.id DESC")
+    Stream<TransactionDTO> streamForExport(Long userId, LocalDate from, LocalDate to, String category);
+
+    // Keyset page ordered by (date, id) descending; rows strictly after the cursor when one is given
+    @Query("SELECT new com.budgetwise.backend.dto.TransactionDTO(t.id, t.user.id, t.type, t.category, t.amount, "
+            + "t.originalAmount, t.originalCurrency, t.conversionRate, t.date, t.description) "
+            + "FROM Transaction t WHERE t.user.id = :userId "
+            + "AND (:from IS NULL OR t.date >= :from) AND (:to IS NULL OR t.date <= :to) "
+            + "AND (:type IS NULL OR t.type = :type) AND (:category IS NULL OR t.category = :category) "
+            + "AND (:afterDate IS NULL OR t.date < :afterDate OR (t.date = :afterDate AND t.id < :afterId)) "
+            + "ORDER BY t.date DESC, t.id DESC")
+    List<TransactionDTO> findPage(Long userId, LocalDate from, LocalDate to, Transaction.TransactionType type,
+            String category, LocalDate afterDate, Long afterId, Limit limit);
+
+    // Daily totals for building the analytics index, oldest day first. Categories are case-sensitive, like the
+    // exact strings its in-place updates add: the binary cast keeps MySQL's collation from merging case variants.
+    // The cast spells out the column's full width in bytes: H2 reads a bare BINARY as BINARY(1)
+    @Query(value = "SELECT t.type AS type, t.category AS category, t.date AS date, SUM(t.amount) AS amount "
+            + "FROM transactions t WHERE t.user_id = :userId "
+            + "GROUP BY t.type, t.category, CAST(t.category AS BINARY(1020)), t.date ORDER BY t.date",
+            nativeQuery = true)
+    List<DayTotal> sumByDay(Long userId);
+
+    interface DayTotal {
+        Transaction.TransactionType getType();
+
+        String getCategory();
+
+        LocalDate getDate();
+
+        BigDecimal getAmount();
+    }
 }
@@ -2,7 +2,10 @@ package com.budgetwise.backend.repository;
 
 import com.budgetwise.backend.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
@@ -13,4 +16,14 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
 
     boolean existsByClerkId(String clerkId);
+
+    // Read-only so that, with a replica configured, it is read where the tagged body is read: a tag
+    // from the primary could name data the replica has not applied yet
+    @Transactional(readOnly = true)
+    @Query("SELECT u.dataVersion FROM User u WHERE u.id = :userId")
+    Long findDataVersion(Long userId);
+
+    @Modifying
+    @Query("UPDATE User u SET u.dataVersion = u.dataVersion + 1 WHERE u.id = :userId")
+    int incrementDataVersion(Long userId);
 }
@@ -1,28 +1,306 @@
 package com.budgetwise.backend.service;
 
 import com.budgetwise.backend.dto.DashboardDTO;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.google.genai.Client;
+import com.google.genai.ResponseStream;
 import com.google.genai.types.GenerateContentResponse;
 import com.google.genai.errors.ApiException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 
 @Service
 public class AIService {
 
+    private static final String MODEL = "gemini-2.5-flash";
+    private static final String QUOTA_EXCEEDED_MESSAGE =
+            "Our AI advisor is currently busy (Quota Exceeded). Please try again later.";
+    private static final String API_ERROR_MESSAGE = "Unable to generate advice at this time due to an API error.";
+    private static final String UNEXPECTED_ERROR_MESSAGE = "An unexpected error occurred while fetching advice.";
+    private static final String BUSY_MESSAGE =
+            "Our AI advisor is handling a lot of requests right now. Please try again in a moment.";
+    private static final String TIMEOUT_MESSAGE = "Generating advice took too long. Please try again.";
+
     private final DashboardService dashboardService;
     private final Client client;
+    // Advice keyed by a digest of the prompt, so an unchanged financial snapshot never reaches the model again
+    private final Cache<String, String> adviceCache;
+    // Collapses concurrent requests for the same snapshot (one user clicking repeatedly) into one call
+    private final Map<String, CompletableFuture<String>> inFlight = new ConcurrentHashMap<>();
+    // Gemini calls and their queueing run here, never on Tomcat workers
+    private final ExecutorService aiExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private final AdaptiveBulkhead bulkhead;
+    private final OutboundCallMetrics outboundCallMetrics;
+    private final Duration streamTimeout;
 
     public AIService(DashboardService dashboardService,
-            @org.springframework.beans.factory.annotation.Value("${gemini.api.key}") String apiKey) {
+            @Value("${gemini.api.key}") String apiKey,
+            @Value("${ai.advice-cache.max-size:1000}") long adviceCacheMaxSize,
+            @Value("${ai.advice-cache.ttl:6h}") Duration adviceCacheTtl,
+            @Value("${ai.bulkhead.max-concurrent:4}") int bulkheadMaxConcurrent,
+            @Value("${ai.bulkhead.max-queued:50}") int bulkheadMaxQueued,
+            @Value("${ai.bulkhead.queue-timeout:5s}") Duration bulkheadQueueTimeout,
+            @Value("${ai.stream.timeout:60s}") Duration streamTimeout,
+            OutboundCallMetrics outboundCallMetrics, MeterRegistry meterRegistry) {
         this.dashboardService = dashboardService;
+        this.streamTimeout = streamTimeout;
+        this.outboundCallMetrics = outboundCallMetrics;
+        this.bulkhead = new AdaptiveBulkhead(OutboundCallMetrics.GEMINI, bulkheadMaxConcurrent, bulkheadMaxQueued,
+                bulkheadQueueTimeout, meterRegistry);
         this.client = new Client.Builder().apiKey(apiKey).build();
+        this.adviceCache = Caffeine.newBuilder()
+                .maximumSize(adviceCacheMaxSize)
+                .expireAfterWrite(adviceCacheTtl)
+                .build();
+    }
+
+    /**
+     * Advice for the user's current snapshot. The snapshot is built on the calling
+     * thread; the Gemini call waits for a bulkhead permit on a virtual thread, and
+     * requests for a snapshot that is already being generated share that call.
+     */
+    public CompletableFuture<String> getBudgetAdvice(String clerkId) {
+        String prompt = buildPrompt(dashboardService.getDashboardData(clerkId));
+        String cacheKey = digest(prompt);
+
+        String cached = adviceCache.getIfPresent(cacheKey);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+
+        CompletableFuture<String> mine = new CompletableFuture<>();
+        CompletableFuture<String> existing = inFlight.putIfAbsent(cacheKey, mine);
+        if (existing != null) {
+            return existing;
+        }
+        aiExecutor.execute(() -> {
+            try {
+                mine.complete(generateAdvice(prompt, cacheKey));
+            } finally {
+                inFlight.remove(cacheKey, mine);
+            }
+        });
+        return mine;
+    }
+
+    private String generateAdvice(String prompt, String cacheKey) {
+        try {
+            if (!bulkhead.tryAcquire()) {
+                return BUSY_MESSAGE;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return BUSY_MESSAGE;
+        }
+
+        boolean rateLimited = false;
+        Timer.Sample sample = outboundCallMetrics.start();
+        try {
+            GenerateContentResponse response = client.models.generateContent(
+                    MODEL,
+                    prompt,
+                    null);
+            outboundCallMetrics.success(sample, OutboundCallMetrics.GEMINI);
+            String advice = response.text();
+            if (advice != null && !advice.isBlank()) {
+                adviceCache.put(cacheKey, advice);
+            }
+            return advice;
+        } catch (ApiException e) {
+            outboundCallMetrics.failure(sample, OutboundCallMetrics.GEMINI, e.code());
+            if (e.code() == 429) {
+                rateLimited = true;
+                return QUOTA_EXCEEDED_MESSAGE;
+            }
+            e.printStackTrace();
+            return API_ERROR_MESSAGE;
+
+        } catch (Exception e) {
+            outboundCallMetrics.failure(sample, OutboundCallMetrics.GEMINI, OutboundCallMetrics.NO_RESPONSE);
+            e.printStackTrace();
+            return UNEXPECTED_ERROR_MESSAGE;
+        } finally {
+            bulkhead.release(rateLimited);
+        }
+    }
+
+    /**
+     * Streams advice as server-sent events: {@code token} events carry text as the
+     * model produces it, followed by a single {@code done} event, or an
+     * {@code error} event carrying the user-facing message. The dashboard snapshot
+     * is built on the calling (request) thread; only generation moves off it. A
+     * stream still open after {@code ai.stream.timeout}, or whose client went
+     * away, is aborted and gives its bulkhead permit back straight away.
+     */
+    public SseEmitter streamBudgetAdvice(String clerkId) {
+        String prompt = buildPrompt(dashboardService.getDashboardData(clerkId));
+        String cacheKey = digest(prompt);
+        SseEmitter emitter = new SseEmitter(streamTimeout.toMillis());
+
+        String cached = adviceCache.getIfPresent(cacheKey);
+        if (cached != null) {
+            try {
+                emitter.send(SseEmitter.event().name("token").data(cached));
+                emitter.send(SseEmitter.event().name("done").data(""));
+                emitter.complete();
+            } catch (IOException e) {
+                emitter.completeWithError(e);
+            }
+            return emitter;
+        }
+
+        StreamingCall call = new StreamingCall();
+        emitter.onTimeout(() -> {
+            call.abort();
+            sendError(emitter, TIMEOUT_MESSAGE);
+        });
+        emitter.onError(e -> call.abort());
+
+        aiExecutor.execute(() -> {
+            try {
+                if (!bulkhead.tryAcquire()) {
+                    sendError(emitter, BUSY_MESSAGE);
+                    return;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                sendError(emitter, BUSY_MESSAGE);
+                return;
+            }
+            if (!call.acquired()) {
+                return; // timed out while queued for the permit
+            }
+
+            boolean rateLimited = false;
+            StringBuilder advice = new StringBuilder();
+            // Timed until the last chunk arrives, so the metric covers the whole generation
+            Timer.Sample sample = outboundCallMetrics.start();
+            try (ResponseStream<GenerateContentResponse> stream = client.models.generateContentStream(MODEL, prompt,
+                    null)) {
+                call.streaming(stream);
+                for (GenerateContentResponse chunk : stream) {
+                    String text = chunk.text();
+                    if (text != null && !text.isEmpty()) {
+                        advice.append(text);
+                        emitter.send(SseEmitter.event().name("token").data(text));
+                    }
+                }
+                outboundCallMetrics.success(sample, OutboundCallMetrics.GEMINI);
+                if (!advice.isEmpty()) {
+                    adviceCache.put(cacheKey, advice.toString());
+                }
+                emitter.send(SseEmitter.event().name("done").data(""));
+                emitter.complete();
+            } catch (ApiException e) {
+                outboundCallMetrics.failure(sample, OutboundCallMetrics.GEMINI, e.code());
+                rateLimited = e.code() == 429;
+                if (!rateLimited) {
+                    e.printStackTrace();
+                }
+                sendError(emitter, rateLimited ? QUOTA_EXCEEDED_MESSAGE : API_ERROR_MESSAGE);
+            } catch (IOException e) {
+                // Client went away; nothing left to send to, and not a Gemini outcome worth recording
+                emitter.completeWithError(e);
+            } catch (Exception e) {
+                if (call.isAborted()) {
+                    return; // the stream was closed under us by the timeout; the client already has its answer
+                }
+                outboundCallMetrics.failure(sample, OutboundCallMetrics.GEMINI, OutboundCallMetrics.NO_RESPONSE);
+                e.printStackTrace();
+                sendError(emitter, UNEXPECTED_ERROR_MESSAGE);
+            } finally {
+                call.release(rateLimited);
+            }
+        });
+        return emitter;
     }
 
-    public String getBudgetAdvice(String clerkId) {
-        DashboardDTO dashboardData = dashboardService.getDashboardData(clerkId);
+    /**
+     * One streamed generation. Its bulkhead permit is returned exactly once, by
+     * whichever comes first: the generation finishing, or the emitter timing out
+     * or failing, which also closes the Gemini stream to unblock the reader.
+     */
+    private final class StreamingCall {
 
+        private final AtomicBoolean holdsPermit = new AtomicBoolean();
+        private volatile boolean aborted;
+        private volatile ResponseStream<GenerateContentResponse> stream;
+
+        // False when aborted before the permit arrived; the permit is then handed straight back
+        boolean acquired() {
+            holdsPermit.set(true);
+            if (aborted) {
+                release(false);
+                return false;
+            }
+            return true;
+        }
+
+        void streaming(ResponseStream<GenerateContentResponse> stream) {
+            this.stream = stream;
+            if (aborted) {
+                stream.close();
+            }
+        }
+
+        boolean isAborted() {
+            return aborted;
+        }
+
+        void abort() {
+            aborted = true;
+            release(false);
+            ResponseStream<GenerateContentResponse> open = stream;
+            if (open != null) {
+                open.close();
+            }
+        }
+
+        void release(boolean rateLimited) {
+            if (holdsPermit.compareAndSet(true, false)) {
+                bulkhead.release(rateLimited);
+            }
+        }
+    }
+
+    private void sendError(SseEmitter emitter, String message) {
+        try {
+            emitter.send(SseEmitter.event().name("error").data(message));
+            emitter.complete();
+        } catch (IOException e) {
+            emitter.completeWithError(e);
+        }
+    }
+
+    private static String digest(String prompt) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(prompt.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    // The prompt embeds every input (monthly totals, budgets, savings), so it doubles as the cache key
+    private String buildPrompt(DashboardDTO dashboardData) {
         // Format budgets for prompt
         String budgetsText = dashboardData.getBudgets().stream()
                 .map(b -> String.format("- %s: spent ₹%s / limit ₹%s", b.getCategory(), b.getSpentAmount(),
@@ -62,23 +340,6 @@ public class AIService {
                 dashboardData.getMonthlyBalance(),
                 budgetsText,
                 savingsText);
-
-        try {
-            GenerateContentResponse response = client.models.generateContent(
-                    "gemini-2.5-flash",
-                    prompt,
-                    null);
-            return response.text();
-        } catch (ApiException e) {
-            if (e.code() == 429) {
-                return "Our AI advisor is currently busy (Quota Exceeded). Please try again later.";
-            }
-            e.printStackTrace();
-            return "Unable to generate advice at this time due to an API error.";
-
-        } catch (Exception e) {
-            e.printStackTrace();
-            return "An unexpected error occurred while fetching advice.";
-        }
+        return prompt;
     }
 }
@@ -0,0 +1,122 @@
+package com.budgetwise.backend.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Concurrency limit for calls to a rate-limited dependency. Up to {@code limit}
+ * callers run at once; a bounded number of others wait in line, each for at
+ * most the queue timeout, and the rest are turned away immediately. The limit
+ * adapts AIMD-style: it halves whenever the dependency answers 429 and creeps
+ * back by one permit per {@code limit} successes, so a burst backs off before
+ * every caller hits the quota.
+ */
+public class AdaptiveBulkhead {
+
+    private final int maxLimit;
+    private final int maxQueued;
+    private final Duration queueTimeout;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition permitReleased = lock.newCondition();
+    private double limit;
+    private int inFlight;
+    private int queued;
+
+    private final Counter rejected;
+
+    public AdaptiveBulkhead(String name, int maxLimit, int maxQueued, Duration queueTimeout, MeterRegistry registry) {
+        if (maxLimit < 1 || maxQueued < 0) {
+            throw new IllegalArgumentException("Bulkhead " + name + " needs a positive limit and non-negative queue");
+        }
+        this.maxLimit = maxLimit;
+        this.maxQueued = maxQueued;
+        this.queueTimeout = queueTimeout;
+        this.limit = maxLimit;
+
+        Gauge.builder("budgetwise.bulkhead.limit", this, AdaptiveBulkhead::currentLimit)
+                .description("Current adaptive concurrency limit")
+                .tag("name", name)
+                .register(registry);
+        Gauge.builder("budgetwise.bulkhead.in_flight", this, b -> b.inFlight)
+                .description("Calls currently holding a permit")
+                .tag("name", name)
+                .register(registry);
+        Gauge.builder("budgetwise.bulkhead.queued", this, b -> b.queued)
+                .description("Calls waiting for a permit")
+                .tag("name", name)
+                .register(registry);
+        this.rejected = Counter.builder("budgetwise.bulkhead.rejected")
+                .description("Calls turned away because the queue was full or the wait timed out")
+                .tag("name", name)
+                .register(registry);
+    }
+
+    /**
+     * Takes a permit, waiting up to the queue timeout for one. Returns
+     * {@code false} when the queue is full or the wait timed out; every
+     * {@code true} must be paired with one {@link #release(boolean)}.
+     */
+    public boolean tryAcquire() throws InterruptedException {
+        lock.lock();
+        try {
+            if (inFlight < currentLimit()) {
+                inFlight++;
+                return true;
+            }
+            if (queued >= maxQueued) {
+                rejected.increment();
+                return false;
+            }
+            queued++;
+            try {
+                long remaining = queueTimeout.toNanos();
+                while (inFlight >= currentLimit()) {
+                    if (remaining <= 0) {
+                        rejected.increment();
+                        return false;
+                    }
+                    remaining = permitReleased.awaitNanos(remaining);
+                }
+                inFlight++;
+                return true;
+            } finally {
+                queued--;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns a permit, shrinking the limit when the call was rate limited.
+     */
+    public void release(boolean rateLimited) {
+        lock.lock();
+        try {
+            inFlight--;
+            if (rateLimited) {
+                limit = Math.max(1, limit / 2);
+            } else {
+                limit = Math.min(maxLimit, limit + 1 / limit);
+            }
+            permitReleased.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int currentLimit() {
+        lock.lock();
+        try {
+            return (int) limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,250 @@
+package com.budgetwise.backend.service;
+
+import com.budgetwise.backend.dto.AnalyticsDTO;
+import com.budgetwise.backend.dto.MonthlyTotalsDTO;
+import com.budgetwise.backend.entity.Transaction;
+import com.budgetwise.backend.repository.ArchivedTransactionRepository;
+import com.budgetwise.backend.repository.TransactionRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Totals for arbitrary date ranges (the last 90 days, a quarter, the year to
+ * date) and monthly series, answered from a per-user index of daily prefix sums
+ * per type and category instead of a scan over the range. An index is built
+ * from the hot and archived transactions on first use and then kept current:
+ * creates and deletes through TransactionService are applied in place once they
+ * commit, and any other change to the user's data (imports, group commits,
+ * budgets) shows up as a newer data version and reloads it.
+ */
+@Service
+public class AnalyticsService {
+
+    static final int MAX_MONTHS = 120;
+    private static final int DEFAULT_RANGE_DAYS = 90;
+
+    private final TransactionRepository transactionRepository;
+    private final ArchivedTransactionRepository archivedTransactionRepository;
+    private final DataVersionService dataVersionService;
+    private final ApplicationEventPublisher eventPublisher;
+    // Version and daily sums must come from one snapshot; not read-only, so it also stays on the primary
+    private final TransactionTemplate snapshotTransaction;
+    // Loaded indexes per user id
+    private final Cache<Long, UserIndex> indexes;
+
+    public AnalyticsService(TransactionRepository transactionRepository,
+            ArchivedTransactionRepository archivedTransactionRepository, DataVersionService dataVersionService,
+            ApplicationEventPublisher eventPublisher, PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${analytics.index.max-size:1000}") long maxSize,
+            @Value("${analytics.index.ttl:30m}") Duration ttl) {
+        this.transactionRepository = transactionRepository;
+        this.archivedTransactionRepository = archivedTransactionRepository;
+        this.dataVersionService = dataVersionService;
+        this.eventPublisher = eventPublisher;
+        this.snapshotTransaction = new TransactionTemplate(transactionManager);
+        this.snapshotTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.indexes = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterAccess(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, indexes, "analytics-index");
+    }
+
+    /**
+     * Totals for {@code from}..{@code to} (defaulting to the 90 days up to today)
+     * and the {@code months} calendar months ending with the month of {@code to},
+     * reflecting the user's data at {@code version} or newer. Categories are
+     * case-sensitive, as on the dashboard: "Food" and "food" are separate keys.
+     */
+    public AnalyticsDTO getAnalytics(DataVersion version, LocalDate from, LocalDate to, int months) {
+        if (months < 1 || months > MAX_MONTHS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Months must be between 1 and " + MAX_MONTHS);
+        }
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(DEFAULT_RANGE_DAYS - 1);
+        if (start.isAfter(end)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "'from' date must not be after 'to' date");
+        }
+
+        UserIndex index = indexes.get(version.userId(), this::load);
+        while (index.version() < version.version()) {
+            // Changed by a write that is not applied in place
+            indexes.asMap().remove(version.userId(), index);
+            index = indexes.get(version.userId(), this::load);
+        }
+        return index.query(start, end, months);
+    }
+
+    /**
+     * Queues a newly saved transaction for the index. Must run inside the
+     * writer's transaction after its data version was bumped; the index only
+     * changes once that transaction commits.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordTransaction(Transaction transaction) {
+        publish(transaction, transaction.getAmount());
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void removeTransaction(Transaction transaction) {
+        publish(transaction, transaction.getAmount().negate());
+    }
+
+    @TransactionalEventListener
+    public void onTransactionChanged(TransactionChangedEvent event) {
+        // Waits for a load of the same user that is in progress, then applies the change or drops the index
+        indexes.asMap().computeIfPresent(event.userId(), (userId, index) -> index.apply(event) ? index : null);
+    }
+
+    private void publish(Transaction transaction, BigDecimal amount) {
+        Long userId = transaction.getUser().getId();
+        eventPublisher.publishEvent(new TransactionChangedEvent(userId, dataVersionService.current(userId),
+                transaction.getType(), transaction.getCategory(), transaction.getDate(), amount));
+    }
+
+    private UserIndex load(Long userId) {
+        return snapshotTransaction.execute(status -> {
+            UserIndex index = new UserIndex(dataVersionService.current(userId));
+            // Archived days first: they are the older ones, so most sums are appended in order
+            archivedTransactionRepository.sumByDay(userId).forEach(index::add);
+            transactionRepository.sumByDay(userId).forEach(index::add);
+            return index;
+        });
+    }
+
+    private static int day(LocalDate date) {
+        return Math.toIntExact(date.toEpochDay());
+    }
+
+    private static long hundredths(BigDecimal amount) {
+        // Round the way the amount column does, so the index agrees with SUM(amount)
+        return amount.setScale(MonthlySummaryService.MONEY_SCALE, RoundingMode.HALF_UP).unscaledValue()
+                .longValueExact();
+    }
+
+    private static BigDecimal money(long hundredths) {
+        return BigDecimal.valueOf(hundredths, MonthlySummaryService.MONEY_SCALE);
+    }
+
+    /**
+     * One user's daily sums per type and category, tagged with the data version
+     * they reflect. Guarded by its own monitor: reads and in-place updates can
+     * arrive from different request threads.
+     */
+    private static final class UserIndex {
+
+        private final Map<Transaction.TransactionType, Map<String, DailyPrefixSums>> series = new EnumMap<>(
+                Transaction.TransactionType.class);
+        private long version;
+
+        UserIndex(long version) {
+            this.version = version;
+        }
+
+        synchronized long version() {
+            return version;
+        }
+
+        // Loading only; the index is not shared yet
+        void add(TransactionRepository.DayTotal total) {
+            add(total.getType(), total.getCategory(), total.getDate(), total.getAmount());
+        }
+
+        /**
+         * Applies a committed change. Returns {@code false} when the index has
+         * missed a change in between and must be reloaded.
+         */
+        synchronized boolean apply(TransactionChangedEvent event) {
+            if (event.dataVersion() <= version) {
+                return true; // already in the snapshot the index was loaded from
+            }
+            if (event.dataVersion() != version + 1) {
+                return false;
+            }
+            add(event.type(), event.category(), event.date(), event.amount());
+            version = event.dataVersion();
+            return true;
+        }
+
+        synchronized AnalyticsDTO query(LocalDate from, LocalDate to, int months) {
+            int fromDay = day(from);
+            int toDay = day(to);
+            long expense = 0;
+            Map<String, BigDecimal> expenseByCategory = new HashMap<>();
+            for (Map.Entry<String, DailyPrefixSums> category : categories(Transaction.TransactionType.EXPENSE)
+                    .entrySet()) {
+                long amount = category.getValue().sum(fromDay, toDay);
+                if (amount != 0) {
+                    expenseByCategory.put(category.getKey(), money(amount));
+                    expense += amount;
+                }
+            }
+            long income = total(Transaction.TransactionType.INCOME, fromDay, toDay);
+
+            List<MonthlyTotalsDTO> monthly = new ArrayList<>(months);
+            YearMonth last = YearMonth.from(to);
+            for (YearMonth month = last.minusMonths(months - 1L); !month.isAfter(last); month = month.plusMonths(1)) {
+                int start = day(month.atDay(1));
+                int end = day(month.atEndOfMonth());
+                monthly.add(new MonthlyTotalsDTO(month.getYear(), month.getMonthValue(),
+                        money(total(Transaction.TransactionType.INCOME, start, end)),
+                        money(total(Transaction.TransactionType.EXPENSE, start, end))));
+            }
+
+            AnalyticsDTO dto = new AnalyticsDTO();
+            dto.setFrom(from);
+            dto.setTo(to);
+            dto.setTotalIncome(money(income));
+            dto.setTotalExpense(money(expense));
+            dto.setBalance(money(income - expense));
+            dto.setExpenseByCategory(expenseByCategory);
+            dto.setMonthly(monthly);
+            return dto;
+        }
+
+        private void add(Transaction.TransactionType type, String category, LocalDate date, BigDecimal amount) {
+            series.computeIfAbsent(type, t -> new HashMap<>())
+                    .computeIfAbsent(category, c -> new DailyPrefixSums())
+                    .add(day(date), hundredths(amount));
+        }
+
+        // A type's total is the sum over its categories, a few dozen O(log n) lookups at most
+        private long total(Transaction.TransactionType type, int fromDay, int toDay) {
+            long total = 0;
+            for (DailyPrefixSums sums : categories(type).values()) {
+                total += sums.sum(fromDay, toDay);
+            }
+            return total;
+        }
+
+        private Map<String, DailyPrefixSums> categories(Transaction.TransactionType type) {
+            return series.getOrDefault(type, Map.of());
+        }
+    }
+}
@@ -5,13 +5,18 @@ import com.budgetwise.backend.entity.Budget;
 import com.budgetwise.backend.entity.Transaction;
 import com.budgetwise.backend.entity.User;
 import com.budgetwise.backend.repository.BudgetRepository;
-import com.budgetwise.backend.repository.TransactionRepository;
+import com.budgetwise.backend.repository.MonthlySummaryRepository;
+import com.budgetwise.backend.repository.MonthlySummaryRepository.CategoryMonthTotal;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.time.temporal.TemporalAdjusters;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -19,18 +24,20 @@ import java.util.stream.Collectors;
 public class BudgetService {
 
     private final BudgetRepository budgetRepository;
-    private final TransactionRepository transactionRepository;
-    private final UserService userService;
+    private final MonthlySummaryRepository monthlySummaryRepository;
+    private final CurrentUserResolver currentUserResolver;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public BudgetService(BudgetRepository budgetRepository, TransactionRepository transactionRepository,
-            UserService userService) {
+    public BudgetService(BudgetRepository budgetRepository, MonthlySummaryRepository monthlySummaryRepository,
+            CurrentUserResolver currentUserResolver, ApplicationEventPublisher eventPublisher) {
         this.budgetRepository = budgetRepository;
-        this.transactionRepository = transactionRepository;
-        this.userService = userService;
+        this.monthlySummaryRepository = monthlySummaryRepository;
+        this.currentUserResolver = currentUserResolver;
+        this.eventPublisher = eventPublisher;
     }
 
     public BudgetDTO createBudget(String clerkId, BudgetDTO dto) {
-        User user = userService.getUserByClerkId(clerkId);
+        User user = currentUserResolver.resolve(clerkId);
 
         // Disallow budgets for income
         if ("income".equalsIgnoreCase(dto.getCategory())) {
@@ -70,11 +77,13 @@ public class BudgetService {
         }
 
         Budget saved = budgetRepository.save(budget);
-        return mapToDTO(saved, calculateSpentForBudget(saved));
+        eventPublisher.publishEvent(new UserDataChangedEvent(user.getId()));
+        return mapToDTO(saved, calculateSpentForBudget(saved, loadSpentByMonthAndCategory(user)));
     }
 
+    @Transactional(readOnly = true)
     public List<BudgetDTO> getAllBudgets(String clerkId, String category, Integer month, Integer year) {
-        User user = userService.getUserByClerkId(clerkId);
+        User user = currentUserResolver.resolve(clerkId);
         List<Budget> budgets;
 
         if (category != null && month != null && year != null) {
@@ -85,37 +94,73 @@ public class BudgetService {
             budgets = budgetRepository.findByUser(user);
         }
 
+        if (budgets.isEmpty()) {
+            return List.of();
+        }
+
+        // One grouped query covers every budget, however many months and categories they span
+        SpentIndex spentByMonthAndCategory = loadSpentByMonthAndCategory(user);
         return budgets.stream()
-                .map(budget -> mapToDTO(budget, calculateSpentForBudget(budget)))
+                .map(budget -> mapToDTO(budget, calculateSpentForBudget(budget, spentByMonthAndCategory)))
                 .collect(Collectors.toList());
     }
 
-    private BigDecimal calculateSpentForBudget(Budget budget) {
-        try {
-            if (budget.getMonth() == null || budget.getMonth() < 1 || budget.getMonth() > 12
-                    || budget.getYear() == null) {
-                return BigDecimal.ZERO;
-            }
-
-            LocalDate startDate = LocalDate.of(budget.getYear(), budget.getMonth(), 1);
-            LocalDate endDate = startDate.with(TemporalAdjusters.lastDayOfMonth());
+    private SpentIndex loadSpentByMonthAndCategory(User user) {
+        return spentByMonthAndCategory(monthlySummaryRepository.sumByMonthAndCategory(user,
+                Transaction.TransactionType.EXPENSE));
+    }
 
-            List<Transaction> transactions = transactionRepository.findByUserAndDateBetween(
-                    budget.getUser(), startDate, endDate);
+    static SpentIndex spentByMonthAndCategory(List<? extends CategoryMonthTotal> totals) {
+        SpentIndex spent = new SpentIndex(totals.size());
+        for (CategoryMonthTotal total : totals) {
+            spent.add(total.getYear(), total.getMonth(), total.getCategory(), total.getAmount());
+        }
+        return spent;
+    }
 
-            return transactions.stream()
-                    .filter(t -> t.getType() == Transaction.TransactionType.EXPENSE)
-                    .filter(t -> t.getCategory().equalsIgnoreCase(budget.getCategory()))
-                    .map(Transaction::getAmount)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
-        } catch (Exception e) {
-            System.err.println("Error calculating spent for budget: " + e.getMessage());
+    static BigDecimal calculateSpentForBudget(Budget budget, SpentIndex spentByMonthAndCategory) {
+        if (budget.getMonth() == null || budget.getMonth() < 1 || budget.getMonth() > 12
+                || budget.getYear() == null || budget.getCategory() == null) {
             return BigDecimal.ZERO;
         }
+        return spentByMonthAndCategory.get(budget.getYear(), budget.getMonth(), budget.getCategory());
+    }
+
+    /**
+     * Expense totals by (year, month, case-insensitive category). Categories are
+     * numbered once, so each row and each budget lookup uses a packed long key
+     * instead of building a String key.
+     */
+    static final class SpentIndex {
+        private final Map<String, Integer> categoryIds = new HashMap<>();
+        private final MoneyTotals totals;
+
+        SpentIndex(int expectedRows) {
+            this.totals = new MoneyTotals(expectedRows);
+        }
+
+        void add(int year, int month, String category, BigDecimal amount) {
+            String normalized = category.toLowerCase(Locale.ROOT);
+            Integer id = categoryIds.get(normalized);
+            if (id == null) {
+                id = categoryIds.size();
+                categoryIds.put(normalized, id);
+            }
+            totals.add(key(year, month, id), amount);
+        }
+
+        BigDecimal get(int year, int month, String category) {
+            Integer id = categoryIds.get(category.toLowerCase(Locale.ROOT));
+            return id == null ? BigDecimal.ZERO : totals.get(key(year, month, id), BigDecimal.ZERO);
+        }
+
+        private static long key(int year, int month, int categoryId) {
+            return ((long) (year * 12 + month - 1) << 32) | categoryId;
+        }
     }
 
     public void deleteBudget(String clerkId, Long budgetId) {
-        User user = userService.getUserByClerkId(clerkId);
+        User user = currentUserResolver.resolve(clerkId);
         Budget budget = budgetRepository.findById(budgetId)
                 .orElseThrow(() -> new RuntimeException("Budget not found"));
 
@@ -124,6 +169,7 @@ public class BudgetService {
         }
 
         budgetRepository.delete(budget);
+        eventPublisher.publishEvent(new UserDataChangedEvent(user.getId()));
     }
 
     private BudgetDTO mapToDTO(Budget budget, BigDecimal spentAmount) {
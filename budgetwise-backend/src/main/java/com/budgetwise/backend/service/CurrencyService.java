@@ -1,57 +1,276 @@
 package com.budgetwise.backend.service;
 
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClientResponseException;
 import org.springframework.web.client.RestTemplate;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.regex.Pattern;
 
 @Service
 public class CurrencyService {
 
-    private final RestTemplate restTemplate = new RestTemplate();
+    private final RestTemplate restTemplate;
     private static final String API_URL = "https://open.er-api.com/v6/latest/";
+    private static final String FETCHED_AT_KEY = "_fetchedAt";
+    private static final Pattern CURRENCY_CODE = Pattern.compile("[A-Z]{3}");
+
+    private final Duration ttl;
+    private final Duration refreshAfter;
+    private final Duration failureCooldown;
+    private final Path cacheDir;
+    private final Duration historyMaxStaleness;
+    private final OutboundCallMetrics outboundCallMetrics;
+    private final ExchangeRateHistoryService rateHistory;
+
+    // Full rates table per base currency; the endpoint returns every quote in one call
+    private final Map<String, RateTable> tables = new ConcurrentHashMap<>();
+    // Collapses concurrent fetches for the same base into one HTTP call
+    private final Map<String, CompletableFuture<RateTable>> inFlight = new ConcurrentHashMap<>();
+    // When each base may be fetched again after a failed fetch; until then the stale or disk table is served
+    private final Map<String, Instant> retryNotBefore = new ConcurrentHashMap<>();
+    private final ExecutorService refreshExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public CurrencyService(@Value("${currency.rates.ttl:6h}") Duration ttl,
+            @Value("${currency.rates.cache-dir:${java.io.tmpdir}/budgetwise-rates}") Path cacheDir,
+            @Value("${currency.history.max-staleness:7d}") Duration historyMaxStaleness,
+            @Value("${currency.api.connect-timeout:2s}") Duration connectTimeout,
+            @Value("${currency.api.read-timeout:5s}") Duration readTimeout,
+            @Value("${currency.rates.failure-cooldown:1m}") Duration failureCooldown,
+            OutboundCallMetrics outboundCallMetrics, ExchangeRateHistoryService rateHistory) {
+        // Without timeouts a hung API would hold the request thread, and every caller waiting on its single flight
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(connectTimeout);
+        requestFactory.setReadTimeout(readTimeout);
+        this.restTemplate = new RestTemplate(requestFactory);
+        this.ttl = ttl;
+        // Refresh in the background once 80% of the TTL has elapsed, before readers see an expired table
+        this.refreshAfter = ttl.multipliedBy(4).dividedBy(5);
+        this.failureCooldown = failureCooldown;
+        this.cacheDir = cacheDir;
+        this.historyMaxStaleness = historyMaxStaleness;
+        this.outboundCallMetrics = outboundCallMetrics;
+        this.rateHistory = rateHistory;
+    }
 
-    @SuppressWarnings("unchecked")
     public BigDecimal getExchangeRate(String fromCurrency, String toCurrency) {
+        return findLiveRate(fromCurrency, toCurrency).orElse(BigDecimal.ONE); // Safe fallback
+    }
 
+    /**
+     * Rate in effect on {@code date}. Today (or later) is the live table's rate,
+     * falling back to the latest recorded one when the live table is unavailable.
+     * For a back-dated transaction, a recorded daily rate within
+     * {@code currency.history.max-staleness} of the date is a local lookup; otherwise
+     * the live table is used, and when that is unavailable the closest older
+     * recorded rate, however old.
+     */
+    public BigDecimal getExchangeRate(String fromCurrency, String toCurrency, LocalDate date) {
         if (fromCurrency == null || toCurrency == null || fromCurrency.equalsIgnoreCase(toCurrency)) {
             return BigDecimal.ONE;
         }
+        LocalDate today = LocalDate.now();
+        LocalDate on = date != null ? date : today;
+        if (!on.isBefore(today)) {
+            return findLiveRate(fromCurrency, toCurrency)
+                    .or(() -> rateHistory.findRate(fromCurrency, toCurrency, on)
+                            .map(ExchangeRateHistoryService.DatedRate::rate))
+                    .orElse(BigDecimal.ONE);
+        }
+        Optional<ExchangeRateHistoryService.DatedRate> recorded = rateHistory.findRate(fromCurrency, toCurrency, on);
+        if (recorded.isPresent() && !recorded.get().date().plusDays(historyMaxStaleness.toDays()).isBefore(on)) {
+            return recorded.get().rate();
+        }
+        return findLiveRate(fromCurrency, toCurrency)
+                .or(() -> recorded.map(ExchangeRateHistoryService.DatedRate::rate))
+                .orElse(BigDecimal.ONE);
+    }
 
-        try {
-            String url = API_URL + fromCurrency.toUpperCase();
-            Map<String, Object> response = restTemplate.getForObject(url, Map.class);
+    private Optional<BigDecimal> findLiveRate(String fromCurrency, String toCurrency) {
+
+        if (fromCurrency == null || toCurrency == null || fromCurrency.equalsIgnoreCase(toCurrency)) {
+            return Optional.of(BigDecimal.ONE);
+        }
+
+        String base = fromCurrency.toUpperCase(Locale.ROOT);
+        if (!CURRENCY_CODE.matcher(base).matches()) {
+            return Optional.empty(); // also keeps arbitrary input out of URLs and cache file names
+        }
 
-            if (response == null) {
-                return BigDecimal.ONE;
+        RateTable table = getRateTable(base);
+        if (table == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(table.rates().get(toCurrency.toUpperCase(Locale.ROOT)));
+    }
+
+    private RateTable getRateTable(String base) {
+        RateTable table = tables.computeIfAbsent(base, this::loadFromDisk);
+        boolean coolingDown = isCoolingDown(base);
+        if (table == null) {
+            return coolingDown ? null : fetchSingleFlight(base);
+        }
+
+        Duration age = Duration.between(table.fetchedAt(), Instant.now());
+        if (age.compareTo(ttl) >= 0) {
+            RateTable fresh = coolingDown ? null : fetchSingleFlight(base);
+            // Keep converting with the last good table when the API is unreachable
+            return fresh != null ? fresh : table;
+        }
+        if (age.compareTo(refreshAfter) >= 0 && !coolingDown && !inFlight.containsKey(base)) {
+            refreshExecutor.execute(() -> fetchSingleFlight(base));
+        }
+        return table;
+    }
+
+    private boolean isCoolingDown(String base) {
+        Instant notBefore = retryNotBefore.get(base);
+        if (notBefore == null) {
+            return false;
+        }
+        if (Instant.now().isBefore(notBefore)) {
+            return true;
+        }
+        retryNotBefore.remove(base, notBefore);
+        return false;
+    }
+
+    private RateTable fetchSingleFlight(String base) {
+        CompletableFuture<RateTable> mine = new CompletableFuture<>();
+        CompletableFuture<RateTable> existing = inFlight.putIfAbsent(base, mine);
+        if (existing != null) {
+            return existing.join();
+        }
+
+        RateTable fetched = null;
+        try {
+            fetched = fetchRates(base);
+            if (fetched != null) {
+                tables.put(base, fetched);
+                persist(fetched);
+                recordHistory(fetched);
+                retryNotBefore.remove(base);
+            } else {
+                // One failed call per base per cool-down, instead of one (and one timeout) per request
+                retryNotBefore.put(base, Instant.now().plus(failureCooldown));
             }
+        } finally {
+            inFlight.remove(base, mine);
+            mine.complete(fetched);
+        }
+        return fetched;
+    }
+
+    @SuppressWarnings("unchecked")
+    private RateTable fetchRates(String base) {
+        Timer.Sample sample = outboundCallMetrics.start();
+        try {
+            Map<String, Object> response = restTemplate.getForObject(API_URL + base, Map.class);
 
-            Object result = response.get("result");
-            if (!"success".equalsIgnoreCase(String.valueOf(result))) {
-                return BigDecimal.ONE;
+            if (response == null || !"success".equalsIgnoreCase(String.valueOf(response.get("result")))) {
+                outboundCallMetrics.failure(sample, OutboundCallMetrics.CURRENCY_API, OutboundCallMetrics.NO_RESPONSE);
+                return null;
             }
+            outboundCallMetrics.success(sample, OutboundCallMetrics.CURRENCY_API);
 
             Map<String, Object> rates = (Map<String, Object>) response.get("rates");
-
-            if (rates == null || !rates.containsKey(toCurrency.toUpperCase())) {
-                return BigDecimal.ONE;
+            if (rates == null) {
+                return null;
             }
 
-            Object rateObj = rates.get(toCurrency.toUpperCase());
-            double rateVal;
+            Map<String, BigDecimal> parsed = new HashMap<>();
+            rates.forEach((currency, value) -> {
+                if (value instanceof Number number) {
+                    parsed.put(currency.toUpperCase(Locale.ROOT), BigDecimal.valueOf(number.doubleValue()));
+                }
+            });
+            return new RateTable(base, Map.copyOf(parsed), Instant.now());
 
-            if (rateObj instanceof Number) {
-                rateVal = ((Number) rateObj).doubleValue();
-            } else {
-                return BigDecimal.ONE;
+        } catch (RestClientResponseException e) {
+            outboundCallMetrics.failure(sample, OutboundCallMetrics.CURRENCY_API, e.getStatusCode().value());
+            System.err.println("Currency rate fetch failed for " + base + ": " + e.getMessage());
+            return null;
+        } catch (Exception e) {
+            outboundCallMetrics.failure(sample, OutboundCallMetrics.CURRENCY_API, OutboundCallMetrics.NO_RESPONSE);
+            System.err.println("Currency rate fetch failed for " + base + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    private void recordHistory(RateTable table) {
+        try {
+            rateHistory.record(table.base(), table.rates(), LocalDate.now());
+        } catch (RuntimeException e) {
+            System.err.println("Failed to record exchange-rate history for " + table.base() + ": " + e.getMessage());
+        }
+    }
+
+    private RateTable loadFromDisk(String base) {
+        Path file = cacheFile(base);
+        if (!Files.isReadable(file)) {
+            return null;
+        }
+        try (InputStream in = Files.newInputStream(file)) {
+            Properties props = new Properties();
+            props.load(in);
+            Instant fetchedAt = Instant.ofEpochMilli(Long.parseLong(props.getProperty(FETCHED_AT_KEY)));
+            Map<String, BigDecimal> rates = new HashMap<>();
+            for (String currency : props.stringPropertyNames()) {
+                if (!FETCHED_AT_KEY.equals(currency)) {
+                    rates.put(currency, new BigDecimal(props.getProperty(currency)));
+                }
             }
+            return new RateTable(base, Map.copyOf(rates), fetchedAt);
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Ignoring unreadable rate cache " + file + ": " + e.getMessage());
+            return null;
+        }
+    }
 
-            return BigDecimal.valueOf(rateVal);
+    private void persist(RateTable table) {
+        try {
+            Files.createDirectories(cacheDir);
+            Properties props = new Properties();
+            table.rates().forEach((currency, rate) -> props.setProperty(currency, rate.toPlainString()));
+            props.setProperty(FETCHED_AT_KEY, String.valueOf(table.fetchedAt().toEpochMilli()));
 
-        } catch (Exception e) {
-            System.err.println("Currency conversion failed: " + e.getMessage());
-            return BigDecimal.ONE; // Safe fallback
+            // Write then rename so a crash never leaves a half-written table behind
+            Path tmp = Files.createTempFile(cacheDir, "rates-" + table.base(), ".tmp");
+            try (OutputStream out = Files.newOutputStream(tmp)) {
+                props.store(out, "Exchange rates for " + table.base());
+            }
+            Files.move(tmp, cacheFile(table.base()), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.err.println("Failed to persist exchange rates for " + table.base() + ": " + e.getMessage());
         }
     }
+
+    private Path cacheFile(String base) {
+        return cacheDir.resolve("rates-" + base + ".properties");
+    }
+
+    private record RateTable(String base, Map<String, BigDecimal> rates, Instant fetchedAt) {
+    }
 }
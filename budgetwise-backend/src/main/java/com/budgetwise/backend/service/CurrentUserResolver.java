@@ -0,0 +1,38 @@
+package com.budgetwise.backend.service;
+
+import com.budgetwise.backend.entity.User;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Shared entry point for services that need the authenticated user. The first
+ * lookup in a request is memoized on the request, so a dashboard that fans out
+ * to budgets and savings resolves the user once. Off-request callers (async
+ * work, scheduled jobs) fall through to the {@link UserService} id cache.
+ */
+@Service
+public class CurrentUserResolver {
+
+    private static final String ATTRIBUTE_PREFIX = CurrentUserResolver.class.getName() + ".";
+
+    private final UserService userService;
+
+    public CurrentUserResolver(UserService userService) {
+        this.userService = userService;
+    }
+
+    public User resolve(String clerkId) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        String key = ATTRIBUTE_PREFIX + clerkId;
+        if (attributes != null && attributes.getAttribute(key, RequestAttributes.SCOPE_REQUEST) instanceof User user) {
+            return user;
+        }
+
+        User user = userService.getUserReference(clerkId);
+        if (attributes != null) {
+            attributes.setAttribute(key, user, RequestAttributes.SCOPE_REQUEST);
+        }
+        return user;
+    }
+}
@@ -0,0 +1,56 @@
+package com.budgetwise.backend.service;
+
+import java.util.Arrays;
+
+/**
+ * Prefix sums over one series of daily amounts in hundredths, stored sparsely:
+ * only days that have an amount take space. A range total is two binary
+ * searches, O(log n) in the number of such days. Adding to the latest day, as
+ * nearly every new transaction does, is O(1); a back-dated amount also moves
+ * the prefix sums of the days after it.
+ */
+final class DailyPrefixSums {
+
+    private int[] days = new int[8]; // epoch days, ascending
+    private long[] prefix = new long[8]; // total through days[i]
+    private int size;
+
+    void add(int day, long hundredths) {
+        int i = Arrays.binarySearch(days, 0, size, day);
+        if (i < 0) {
+            i = -i - 1;
+            insertAt(i, day, i == 0 ? 0 : prefix[i - 1]);
+        }
+        for (int j = i; j < size; j++) {
+            prefix[j] += hundredths;
+        }
+    }
+
+    // Total of the days in [fromDay, toDay], both inclusive
+    long sum(int fromDay, int toDay) {
+        if (fromDay > toDay) {
+            return 0;
+        }
+        return through(toDay) - through(fromDay - 1);
+    }
+
+    private long through(int day) {
+        int i = Arrays.binarySearch(days, 0, size, day);
+        if (i < 0) {
+            i = -i - 2; // last day before it
+        }
+        return i < 0 ? 0 : prefix[i];
+    }
+
+    private void insertAt(int i, int day, long before) {
+        if (size == days.length) {
+            days = Arrays.copyOf(days, size * 2);
+            prefix = Arrays.copyOf(prefix, size * 2);
+        }
+        System.arraycopy(days, i, days, i + 1, size - i);
+        System.arraycopy(prefix, i, prefix, i + 1, size - i);
+        days[i] = day;
+        prefix[i] = before;
+        size++;
+    }
+}
@@ -1,91 +1,209 @@
 package com.budgetwise.backend.service;
 
+import com.budgetwise.backend.config.RequestQueryCounter;
+import com.budgetwise.backend.dto.BudgetDTO;
 import com.budgetwise.backend.dto.DashboardDTO;
+import com.budgetwise.backend.dto.SavingsDTO;
 import com.budgetwise.backend.entity.Transaction;
 import com.budgetwise.backend.entity.User;
-import com.budgetwise.backend.repository.TransactionRepository;
+import com.budgetwise.backend.repository.MonthlySummaryRepository;
+import com.budgetwise.backend.repository.MonthlySummaryRepository.CategoryTotal;
+import com.budgetwise.backend.repository.MonthlySummaryRepository.TypeCategoryTotal;
+import com.budgetwise.backend.repository.MonthlySummaryRepository.TypeTotal;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutorService;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 @Service
 public class DashboardService {
 
-    private final TransactionRepository transactionRepository;
-    private final UserService userService;
+    private final MonthlySummaryRepository monthlySummaryRepository;
+    private final CurrentUserResolver currentUserResolver;
     private final BudgetService budgetService;
     private final SavingsService savingsService;
-
-    public DashboardService(TransactionRepository transactionRepository, UserService userService,
-            BudgetService budgetService, SavingsService savingsService) {
-        this.transactionRepository = transactionRepository;
-        this.userService = userService;
+    private final DataVersionService dataVersionService;
+    // Computed dashboards per user id; dropped on UserDataChangedEvent and at midnight
+    private final Cache<Long, CachedDashboard> dashboardCache;
+    // Budgets and savings load on virtual threads that carry the caller's SecurityContext (and query counts)
+    private final ExecutorService fanOutExecutor = new DelegatingSecurityContextExecutorService(
+            Executors.newVirtualThreadPerTaskExecutor());
+    private final Duration fanOutTimeout;
+
+    public DashboardService(MonthlySummaryRepository monthlySummaryRepository,
+            CurrentUserResolver currentUserResolver, BudgetService budgetService, SavingsService savingsService,
+            DataVersionService dataVersionService, MeterRegistry meterRegistry,
+            @Value("${dashboard.cache.max-size:10000}") long cacheMaxSize,
+            @Value("${dashboard.cache.ttl:10m}") Duration cacheTtl,
+            @Value("${dashboard.fan-out.timeout:3s}") Duration fanOutTimeout) {
+        this.monthlySummaryRepository = monthlySummaryRepository;
+        this.currentUserResolver = currentUserResolver;
         this.budgetService = budgetService;
         this.savingsService = savingsService;
+        this.dataVersionService = dataVersionService;
+        this.fanOutTimeout = fanOutTimeout;
+        this.dashboardCache = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfter(Expiry.<Long, CachedDashboard>creating(
+                        (userId, cached) -> untilExpiry(cached.day(), cacheTtl)))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, dashboardCache, "dashboard");
     }
 
     public DashboardDTO getDashboardData(String clerkId) {
-        User user = userService.getUserByClerkId(clerkId);
-        List<Transaction> allTransactions = transactionRepository.findByUser(user);
+        return getDashboardData(clerkId, dataVersionService.current(clerkId));
+    }
 
-        // All-time calculations
-        BigDecimal totalIncome = BigDecimal.ZERO;
-        BigDecimal totalExpense = BigDecimal.ZERO;
-        Map<String, BigDecimal> expenseByCategory = new HashMap<>();
+    /**
+     * The dashboard at {@code version} or newer. Callers that derived an ETag
+     * from {@code version} can rely on the body not being older than the tag.
+     */
+    public DashboardDTO getDashboardData(String clerkId, DataVersion version) {
+        User user = currentUserResolver.resolve(clerkId);
+        // A load still running when the user's data changes finishes before the invalidation removes it
+        CachedDashboard cached = dashboardCache.get(user.getId(), userId -> computeDashboard(clerkId, user, version));
+        while (cached.version() < version.version()) {
+            // Computed before a change whose after-commit invalidation has not run yet
+            dashboardCache.asMap().remove(user.getId(), cached);
+            cached = dashboardCache.get(user.getId(), userId -> computeDashboard(clerkId, user, version));
+        }
+        if (!cached.complete()) {
+            // Serve the partial dashboard once, but let the next request retry the failed parts
+            dashboardCache.asMap().remove(user.getId(), cached);
+        }
+        return cached.dashboard();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserDataChanged(UserDataChangedEvent event) {
+        dashboardCache.invalidate(event.userId());
+    }
+
+    private CachedDashboard computeDashboard(String clerkId, User user, DataVersion version) {
+        LocalDate now = LocalDate.now();
+        long deadline = System.nanoTime() + fanOutTimeout.toNanos();
+
+        // The three phases are independent; budgets and savings run while this thread aggregates totals
+        Future<List<BudgetDTO>> budgets = fanOutExecutor.submit(RequestQueryCounter.propagate(
+                () -> budgetService.getAllBudgets(clerkId, null, null, null)));
+        Future<List<SavingsDTO>> savings = fanOutExecutor.submit(RequestQueryCounter.propagate(
+                () -> savingsService.getAllSavings(clerkId, now.getMonthValue(), now.getYear())));
+
+        DashboardDTO dto;
+        try {
+            // Summed in the database from the per-month rollup; no entity is loaded for the totals
+            dto = aggregate(monthlySummaryRepository.sumByType(user),
+                    monthlySummaryRepository.sumByCategory(user, Transaction.TransactionType.EXPENSE),
+                    monthlySummaryRepository.sumByTypeAndCategoryInMonth(user, now.getYear(), now.getMonthValue()));
+        } catch (RuntimeException e) {
+            budgets.cancel(true);
+            savings.cancel(true);
+            throw e;
+        }
+
+        // A failed or late sub-computation degrades the dashboard instead of failing it
+        List<BudgetDTO> budgetList = await(budgets, deadline, "budgets", user);
+        List<SavingsDTO> savingsList = await(savings, deadline, "savings", user);
+        dto.setBudgets(budgetList != null ? budgetList : List.of());
+        if (savingsList != null && !savingsList.isEmpty()) {
+            dto.setMonthlySavings(savingsList.get(0));
+        }
+        return new CachedDashboard(version.version(), now, dto, budgetList != null && savingsList != null);
+    }
 
-        for (Transaction t : allTransactions) {
-            if (t.getType() == Transaction.TransactionType.INCOME) {
-                totalIncome = totalIncome.add(t.getAmount());
+    private static <T> T await(Future<T> future, long deadline, String part, User user) {
+        try {
+            return future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            System.err.println("Dashboard " + part + " timed out for user " + user.getId());
+        } catch (ExecutionException e) {
+            System.err.println("Dashboard " + part + " failed for user " + user.getId() + ": "
+                    + e.getCause().getMessage());
+        } catch (CancellationException e) {
+            System.err.println("Dashboard " + part + " was cancelled for user " + user.getId());
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+        }
+        return null;
+    }
+
+    static DashboardDTO aggregate(List<? extends TypeTotal> totals, List<? extends CategoryTotal> expenseByCategory,
+            List<? extends TypeCategoryTotal> currentMonth) {
+        BigDecimal income = BigDecimal.ZERO;
+        BigDecimal expense = BigDecimal.ZERO;
+        for (TypeTotal total : totals) {
+            if (total.getType() == Transaction.TransactionType.INCOME) {
+                income = total.getAmount();
             } else {
-                totalExpense = totalExpense.add(t.getAmount());
-                expenseByCategory.merge(t.getCategory(), t.getAmount(), BigDecimal::add);
+                expense = total.getAmount();
             }
         }
 
-        // Monthly calculations
-        java.time.LocalDate now = java.time.LocalDate.now();
-        java.time.LocalDate startOfMonth = now.with(java.time.temporal.TemporalAdjusters.firstDayOfMonth());
-        java.time.LocalDate endOfMonth = now.with(java.time.temporal.TemporalAdjusters.lastDayOfMonth());
-
-        BigDecimal monthlyIncome = BigDecimal.ZERO;
-        BigDecimal monthlyExpense = BigDecimal.ZERO;
-        Map<String, BigDecimal> monthlyExpenseByCategory = new HashMap<>();
-
-        for (Transaction t : allTransactions) {
-            if (!t.getDate().isBefore(startOfMonth) && !t.getDate().isAfter(endOfMonth)) {
-                if (t.getType() == Transaction.TransactionType.INCOME) {
-                    monthlyIncome = monthlyIncome.add(t.getAmount());
-                } else {
-                    monthlyExpense = monthlyExpense.add(t.getAmount());
-                    monthlyExpenseByCategory.merge(t.getCategory(), t.getAmount(), BigDecimal::add);
-                }
+        Map<String, BigDecimal> categoryAmounts = new HashMap<>();
+        for (CategoryTotal total : expenseByCategory) {
+            categoryAmounts.put(total.getCategory(), total.getAmount());
+        }
+
+        // One row per (type, category) of the month; at most a few dozen
+        BigDecimal monthIncome = BigDecimal.ZERO;
+        BigDecimal monthExpense = BigDecimal.ZERO;
+        Map<String, BigDecimal> monthlyCategoryAmounts = new HashMap<>();
+        for (TypeCategoryTotal total : currentMonth) {
+            if (total.getType() == Transaction.TransactionType.INCOME) {
+                monthIncome = monthIncome.add(total.getAmount());
+            } else {
+                monthExpense = monthExpense.add(total.getAmount());
+                monthlyCategoryAmounts.put(total.getCategory(), total.getAmount());
             }
         }
 
         DashboardDTO dto = new DashboardDTO();
-        dto.setTotalIncome(totalIncome);
-        dto.setTotalExpense(totalExpense);
-        dto.setBalance(totalIncome.subtract(totalExpense));
-        dto.setExpenseByCategory(expenseByCategory);
-
-        dto.setMonthlyIncome(monthlyIncome);
-        dto.setMonthlyExpense(monthlyExpense);
-        dto.setMonthlyBalance(monthlyIncome.subtract(monthlyExpense));
-        dto.setMonthlyExpenseByCategory(monthlyExpenseByCategory);
-
-        // Include budgets
-        dto.setBudgets(budgetService.getAllBudgets(clerkId, null, null, null));
-
-        // Include monthly savings
-        List<com.budgetwise.backend.dto.SavingsDTO> savingsList = savingsService.getAllSavings(clerkId,
-                now.getMonthValue(), now.getYear());
-        if (!savingsList.isEmpty()) {
-            dto.setMonthlySavings(savingsList.get(0));
+        dto.setTotalIncome(income);
+        dto.setTotalExpense(expense);
+        dto.setBalance(income.subtract(expense));
+        dto.setExpenseByCategory(categoryAmounts);
+
+        dto.setMonthlyIncome(monthIncome);
+        dto.setMonthlyExpense(monthExpense);
+        dto.setMonthlyBalance(monthIncome.subtract(monthExpense));
+        dto.setMonthlyExpenseByCategory(monthlyCategoryAmounts);
+        return dto;
+    }
+
+    // "Current month" figures are only valid for the day they were computed on
+    private static Duration untilExpiry(LocalDate day, Duration ttl) {
+        ZonedDateTime now = ZonedDateTime.now();
+        Duration untilMidnight = Duration.between(now, day.plusDays(1).atStartOfDay(ZoneId.systemDefault()));
+        if (untilMidnight.isNegative()) {
+            return Duration.ZERO;
         }
+        return untilMidnight.compareTo(ttl) < 0 ? untilMidnight : ttl;
+    }
 
-        return dto;
+    private record CachedDashboard(long version, LocalDate day, DashboardDTO dashboard, boolean complete) {
     }
 }
@@ -0,0 +1,26 @@
+package com.budgetwise.backend.service;
+
+import java.time.LocalDate;
+
+/**
+ * A user's data version as read at the start of a request. Responses built
+ * after reading it are at least this new, so it is safe to tag them with it.
+ * With a read replica that holds because the version is read where the body
+ * is: on the replica, unless the user has just written.
+ *
+ * <p>Tags are strong. A strong tag names one exact body, so the controllers add
+ * the negotiated encoding to it (see ConditionalGet) and JSON and CBOR never
+ * share one.
+ */
+public record DataVersion(Long userId, long version) {
+
+    // The user id keeps tags from one account matching on a client shared with another
+    public String etag() {
+        return "\"" + userId + "-" + version + "\"";
+    }
+
+    // For responses that also change with the calendar, such as current-month figures
+    public String etag(LocalDate day) {
+        return "\"" + userId + "-" + version + "-" + day + "\"";
+    }
+}
@@ -0,0 +1,43 @@
+package com.budgetwise.backend.service;
+
+import com.budgetwise.backend.entity.User;
+import com.budgetwise.backend.repository.UserRepository;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Keeps users.data_version, a per-user counter that moves forward on every
+ * UserDataChangedEvent. GET endpoints use it as a strong validator: reading
+ * it is a single primary-key lookup, so an unchanged poll is answered with
+ * 304 before anything is loaded or serialized.
+ */
+@Service
+public class DataVersionService {
+
+    private final UserRepository userRepository;
+    private final CurrentUserResolver currentUserResolver;
+
+    public DataVersionService(UserRepository userRepository, CurrentUserResolver currentUserResolver) {
+        this.userRepository = userRepository;
+        this.currentUserResolver = currentUserResolver;
+    }
+
+    public DataVersion current(String clerkId) {
+        User user = currentUserResolver.resolve(clerkId);
+        return new DataVersion(user.getId(), current(user.getId()));
+    }
+
+    // Inside a writer's transaction this includes its own bump
+    public long current(Long userId) {
+        Long version = userRepository.findDataVersion(userId);
+        return version != null ? version : 0L;
+    }
+
+    // Synchronous, so the bump joins the writer's transaction and commits (or rolls back) with the change
+    @EventListener
+    @Transactional
+    public void onUserDataChanged(UserDataChangedEvent event) {
+        userRepository.incrementDataVersion(event.userId());
+    }
+}
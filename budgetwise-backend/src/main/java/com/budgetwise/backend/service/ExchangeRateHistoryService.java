@@ -0,0 +1,210 @@
+package com.budgetwise.backend.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+
+/**
+ * Daily exchange-rate history per currency pair. Rows live in the
+ * {@code exchange_rates} table and are mirrored in memory as one date-ordered
+ * map per pair, so the rate in effect on any date is a floor lookup with no
+ * database or network round trip.
+ */
+@Service
+public class ExchangeRateHistoryService {
+
+    // Matches the DECIMAL(19, 8) rate column
+    static final int RATE_SCALE = 8;
+    private static final Pattern CURRENCY_CODE = Pattern.compile("[A-Z]{3}");
+
+    private static final String UPSERT_SQL = "INSERT INTO exchange_rates (base_currency, quote_currency, rate_date, rate) "
+            + "VALUES (?, ?, ?, ?) ON DUPLICATE KEY UPDATE rate = VALUES(rate)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Path seedFile;
+    private final int batchSize;
+
+    // "USD/INR" -> rate by date
+    private final Map<String, NavigableMap<LocalDate, BigDecimal>> history = new ConcurrentHashMap<>();
+
+    public ExchangeRateHistoryService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+            @Value("${currency.history.seed-file:}") String seedFile,
+            @Value("${transactions.import.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.seedFile = seedFile.isBlank() ? null : Path.of(seedFile);
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    /**
+     * Returns the most recent rate dated on or before {@code date}, falling back
+     * to the inverse of the reverse pair when only that one is recorded.
+     */
+    public Optional<DatedRate> findRate(String fromCurrency, String toCurrency, LocalDate date) {
+        if (fromCurrency == null || toCurrency == null || date == null) {
+            return Optional.empty();
+        }
+        String from = fromCurrency.toUpperCase(Locale.ROOT);
+        String to = toCurrency.toUpperCase(Locale.ROOT);
+        if (from.equals(to)) {
+            return Optional.of(new DatedRate(date, BigDecimal.ONE));
+        }
+
+        Map.Entry<LocalDate, BigDecimal> direct = floor(from, to, date);
+        if (direct != null) {
+            return Optional.of(new DatedRate(direct.getKey(), direct.getValue()));
+        }
+        Map.Entry<LocalDate, BigDecimal> reverse = floor(to, from, date);
+        if (reverse != null && reverse.getValue().signum() > 0) {
+            return Optional.of(new DatedRate(reverse.getKey(),
+                    BigDecimal.ONE.divide(reverse.getValue(), MathContext.DECIMAL64)));
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Stores one day's rates quoted against {@code base}, replacing any rates
+     * already recorded for that day.
+     */
+    public void record(String base, Map<String, BigDecimal> rates, LocalDate date) {
+        List<RateRow> rows = new ArrayList<>(rates.size());
+        rates.forEach((quote, rate) -> {
+            if (!quote.equals(base) && CURRENCY_CODE.matcher(quote).matches() && rate.signum() > 0) {
+                rows.add(new RateRow(base, quote, date, rate.setScale(RATE_SCALE, RoundingMode.HALF_UP)));
+            }
+        });
+        write(rows);
+    }
+
+    /**
+     * Bulk-loads rate history from a CSV document with a {@code date,base,quote,rate}
+     * header, writing it in batches. Returns the number of rows stored.
+     */
+    public long seed(InputStream in) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        String header = reader.readLine();
+        if (header == null) {
+            return 0;
+        }
+
+        long stored = 0;
+        long lineNumber = 1;
+        List<RateRow> batch = new ArrayList<>(batchSize);
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            List<String> fields = TransactionImportService.parseCsvLine(line);
+            try {
+                String base = fields.get(1).trim().toUpperCase(Locale.ROOT);
+                String quote = fields.get(2).trim().toUpperCase(Locale.ROOT);
+                BigDecimal rate = new BigDecimal(fields.get(3).trim());
+                if (!CURRENCY_CODE.matcher(base).matches() || !CURRENCY_CODE.matcher(quote).matches()
+                        || rate.signum() <= 0) {
+                    throw new IllegalArgumentException("expected date,base,quote,rate");
+                }
+                batch.add(new RateRow(base, quote, LocalDate.parse(fields.get(0).trim()), rate
+                        .setScale(RATE_SCALE, RoundingMode.HALF_UP)));
+            } catch (RuntimeException e) {
+                System.err.println("Skipping rate history line " + lineNumber + ": " + e.getMessage());
+                continue;
+            }
+            if (batch.size() >= batchSize) {
+                write(batch);
+                stored += batch.size();
+                batch.clear();
+            }
+        }
+        write(batch);
+        return stored + batch.size();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() throws IOException {
+        if (seedFile != null) {
+            if (Files.isReadable(seedFile)) {
+                try (InputStream in = Files.newInputStream(seedFile)) {
+                    System.out.println("Seeded " + seed(in) + " exchange rates from " + seedFile);
+                }
+            } else {
+                System.err.println("Exchange-rate seed file " + seedFile + " is not readable");
+            }
+        }
+        reload();
+    }
+
+    /**
+     * Replaces the in-memory history with the contents of the table.
+     */
+    public void reload() {
+        Map<String, NavigableMap<LocalDate, BigDecimal>> loaded = new ConcurrentHashMap<>();
+        jdbcTemplate.query("SELECT base_currency, quote_currency, rate_date, rate FROM exchange_rates", rs -> {
+            loaded.computeIfAbsent(pair(rs.getString(1), rs.getString(2)), p -> new ConcurrentSkipListMap<>())
+                    .put(rs.getDate(3).toLocalDate(), rs.getBigDecimal(4));
+        });
+        history.putAll(loaded);
+        history.keySet().retainAll(loaded.keySet());
+    }
+
+    private void write(List<RateRow> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(UPSERT_SQL, rows, rows.size(),
+                (ps, row) -> {
+                    ps.setString(1, row.base());
+                    ps.setString(2, row.quote());
+                    ps.setDate(3, Date.valueOf(row.date()));
+                    ps.setBigDecimal(4, row.rate());
+                }));
+        // Only publish to readers once the rows are durable
+        for (RateRow row : rows) {
+            history.computeIfAbsent(pair(row.base(), row.quote()), p -> new ConcurrentSkipListMap<>())
+                    .put(row.date(), row.rate());
+        }
+    }
+
+    private Map.Entry<LocalDate, BigDecimal> floor(String base, String quote, LocalDate date) {
+        NavigableMap<LocalDate, BigDecimal> rates = history.get(pair(base, quote));
+        return rates == null ? null : rates.floorEntry(date);
+    }
+
+    private static String pair(String base, String quote) {
+        return base + "/" + quote;
+    }
+
+    public record DatedRate(LocalDate date, BigDecimal rate) {
+    }
+
+    private record RateRow(String base, String quote, LocalDate date, BigDecimal rate) {
+    }
+}
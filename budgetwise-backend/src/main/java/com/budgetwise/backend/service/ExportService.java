@@ -1,61 +1,182 @@
 package com.budgetwise.backend.service;
 
 import com.budgetwise.backend.dto.TransactionDTO;
+import com.budgetwise.backend.entity.User;
+import com.budgetwise.backend.repository.ArchivedTransactionRepository;
+import com.budgetwise.backend.repository.TransactionRepository;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
-import java.io.PrintWriter;
-import java.util.List;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.stream.Stream;
 
 @Service
 public class ExportService {
 
-    private final TransactionService transactionService;
+    private static final String HEADER = "Date,Type,Category,Amount (INR),Original Amount,Original Currency,Description";
+    private static final int WRITE_BUFFER_SIZE = 16 * 1024;
 
-    public ExportService(TransactionService transactionService) {
-        this.transactionService = transactionService;
+    private final TransactionRepository transactionRepository;
+    private final ArchivedTransactionRepository archivedTransactionRepository;
+    private final CurrentUserResolver currentUserResolver;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public ExportService(TransactionRepository transactionRepository,
+            ArchivedTransactionRepository archivedTransactionRepository, CurrentUserResolver currentUserResolver,
+            PlatformTransactionManager transactionManager) {
+        this.transactionRepository = transactionRepository;
+        this.archivedTransactionRepository = archivedTransactionRepository;
+        this.currentUserResolver = currentUserResolver;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
     }
 
-    public ByteArrayInputStream exportTransactionsToCSV(String clerkId) {
-        List<TransactionDTO> transactions = transactionService.getAllTransactions(clerkId);
-        String[] columns = { "Date", "Type", "Category", "Amount (INR)", "Original Amount", "Original Currency",
-                "Description" };
+    /**
+     * Resolves the user on the request thread and returns a body that streams the
+     * matching transactions straight to the response, one fetch-size page at a time.
+     */
+    public StreamingResponseBody exportTransactionsToCSV(String clerkId, LocalDate from, LocalDate to,
+            String category) {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "'from' date must not be after 'to' date");
+        }
+        User user = currentUserResolver.resolve(clerkId);
+        Long userId = user.getId();
+        String categoryFilter = category == null || category.isBlank() ? null : category;
+        return out -> writeTransactionsCsv(userId, from, to, categoryFilter, out);
+    }
 
-        try (ByteArrayOutputStream out = new ByteArrayOutputStream();
-                PrintWriter csvWriter = new PrintWriter(out)) {
+    void writeTransactionsCsv(Long userId, LocalDate from, LocalDate to, String category, OutputStream out)
+            throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), WRITE_BUFFER_SIZE);
+        writer.write(HEADER);
+        writer.write('\n');
 
-            // Header
-            csvWriter.println(String.join(",", columns));
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<TransactionDTO> rows = transactionRepository.streamForExport(userId, from, to,
+                        category)) {
+                    rows.forEach(row -> writeRow(writer, row));
+                }
+                // Archived rows are older than the hot ones (bar any back-dated since the last archival
+                // run), so streaming them second keeps the export newest first without sorting a union
+                try (Stream<TransactionDTO> rows = archivedTransactionRepository.streamForExport(userId, from, to,
+                        category)) {
+                    rows.forEach(row -> writeRow(writer, row));
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+    }
 
-            // Data
-            for (TransactionDTO t : transactions) {
-                csvWriter.println(
-                        String.join(",",
-                                t.getDate().toString(),
-                                t.getType().toString(),
-                                escape(t.getCategory()),
-                                t.getAmount().toString(),
-                                t.getOriginalAmount() != null ? t.getOriginalAmount().toString() : "",
-                                escape(t.getOriginalCurrency()),
-                                escape(t.getDescription())));
+    static void writeRow(Writer writer, TransactionDTO t) {
+        try {
+            writer.write(t.getDate().toString());
+            writer.write(',');
+            writer.write(t.getType().name());
+            writer.write(',');
+            writeField(writer, t.getCategory());
+            writer.write(',');
+            writer.write(t.getAmount().toString());
+            writer.write(',');
+            if (t.getOriginalAmount() != null) {
+                writer.write(t.getOriginalAmount().toString());
             }
+            writer.write(',');
+            writeField(writer, t.getOriginalCurrency());
+            writer.write(',');
+            writeField(writer, t.getDescription());
+            writer.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 
-            csvWriter.flush();
-            return new ByteArrayInputStream(out.toByteArray());
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to export data to CSV: " + e.getMessage());
+    /**
+     * Writes a CSV field without intermediate strings: line breaks become a single
+     * space, and fields containing a comma or quote are quoted with quotes doubled.
+     */
+    static void writeField(Writer writer, String data) throws IOException {
+        if (data == null) {
+            return;
+        }
+        boolean quote = needsQuoting(data);
+        if (quote) {
+            writer.write('"');
+        }
+        int length = data.length();
+        int start = 0;
+        for (int i = 0; i < length; i++) {
+            char c = data.charAt(i);
+            if (c == '"' || isLineBreak(c)) {
+                writer.write(data, start, i - start);
+                if (c == '"') {
+                    writer.write("\"\"");
+                } else {
+                    writer.write(' ');
+                    if (c == '\r' && i + 1 < length && data.charAt(i + 1) == '\n') {
+                        i++; // CRLF counts as one line break
+                    }
+                }
+                start = i + 1;
+            }
+        }
+        writer.write(data, start, length - start);
+        if (quote) {
+            writer.write('"');
         }
     }
 
-    private String escape(String data) {
+    static String escape(String data) {
         if (data == null)
             return "";
-        String escapedData = data.replaceAll("\\R", " ");
-        if (data.contains(",") || data.contains("\"") || data.contains("'")) {
-            data = data.replace("\"", "\"\"");
-            escapedData = "\"" + data + "\"";
+        if (!needsQuoting(data) && !containsLineBreak(data))
+            return data;
+        StringWriter out = new StringWriter(data.length() + 8);
+        try {
+            writeField(out, data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
-        return escapedData;
+        return out.toString();
+    }
+
+    private static boolean needsQuoting(String data) {
+        for (int i = 0; i < data.length(); i++) {
+            char c = data.charAt(i);
+            if (c == ',' || c == '"' || c == '\'') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean containsLineBreak(String data) {
+        for (int i = 0; i < data.length(); i++) {
+            if (isLineBreak(data.charAt(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Same set as the regex \R
+    private static boolean isLineBreak(char c) {
+        return c == '\n' || c == '\r' || c == '\u000B' || c == '\f' || c == '\u0085'
+                || c == '\u2028' || c == '\u2029';
     }
 }
@@ -0,0 +1,255 @@
+package com.budgetwise.backend.service;
+
+import com.budgetwise.backend.dto.TransactionDTO;
+import com.budgetwise.backend.entity.Transaction;
+import com.budgetwise.backend.exception.ServiceOverloadedException;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Opt-in write path for single-transaction creates under bursty load. Requests
+ * are queued and a single writer thread commits them in batches of up to
+ * {@code batch-size} rows, or whatever arrived within {@code max-delay} of the
+ * first one, so one commit (and one fsync) covers many requests. Each caller
+ * blocks until its batch has committed, so a returned transaction is as durable
+ * as one saved by {@link TransactionService#createTransaction}.
+ *
+ * <p>A caller waits at most {@code commit-timeout}. A create still queued then
+ * is withdrawn and refused; one whose batch is already being written may still
+ * commit after the caller was refused.
+ *
+ * <p>Off by default, and it should stay off for now: the fsync saving it is
+ * built for has not been measured, and the only numbers so far (in-memory H2,
+ * see {@code GroupCommitBenchmark}) show it slower than the single-row path.
+ */
+@Service
+public class GroupCommitTransactionWriter {
+
+    private final CurrentUserResolver currentUserResolver;
+    private final TransactionService transactionService;
+    private final MonthlySummaryService monthlySummaryService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final boolean enabled;
+    private final int batchSize;
+    private final Duration maxDelay;
+    private final Duration offerTimeout;
+    private final Duration commitTimeout;
+
+    private final BlockingQueue<Pending> queue;
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    public GroupCommitTransactionWriter(CurrentUserResolver currentUserResolver,
+            TransactionService transactionService, MonthlySummaryService monthlySummaryService,
+            JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${transactions.group-commit.enabled:false}") boolean enabled,
+            @Value("${transactions.group-commit.batch-size:200}") int batchSize,
+            @Value("${transactions.group-commit.max-delay:2ms}") Duration maxDelay,
+            @Value("${transactions.group-commit.queue-capacity:5000}") int queueCapacity,
+            @Value("${transactions.group-commit.offer-timeout:100ms}") Duration offerTimeout,
+            @Value("${transactions.group-commit.commit-timeout:5s}") Duration commitTimeout) {
+        if (batchSize < 1 || queueCapacity < 1) {
+            throw new IllegalArgumentException("Group commit batch-size and queue-capacity must be positive");
+        }
+        this.currentUserResolver = currentUserResolver;
+        this.transactionService = transactionService;
+        this.monthlySummaryService = monthlySummaryService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.maxDelay = maxDelay;
+        this.offerTimeout = offerTimeout;
+        this.commitTimeout = commitTimeout;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.writer = enabled ? Thread.ofPlatform().name("transaction-group-commit").daemon().start(this::run) : null;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Queues a new transaction and waits for the batch containing it to commit.
+     * Throws {@link ServiceOverloadedException} when the queue stays full for
+     * longer than {@code offer-timeout}, or the commit takes longer than
+     * {@code commit-timeout}.
+     */
+    public TransactionDTO createTransaction(String clerkId, TransactionDTO dto) {
+        if (!enabled || !running) {
+            return transactionService.createTransaction(clerkId, dto);
+        }
+        Transaction transaction = transactionService.newTransaction(currentUserResolver.resolve(clerkId), dto);
+        Pending pending = new Pending(transaction, new CompletableFuture<>());
+        try {
+            if (!queue.offer(pending, offerTimeout.toNanos(), TimeUnit.NANOSECONDS)) {
+                throw new ServiceOverloadedException("Transaction write queue is full, retry shortly");
+            }
+            return pending.result().get(commitTimeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            ServiceOverloadedException overloaded = new ServiceOverloadedException(
+                    "Transaction commit is taking too long, retry shortly");
+            // Withdraws it unless the writer finished it in the meantime
+            if (pending.result().completeExceptionally(overloaded)) {
+                throw overloaded;
+            }
+            return pending.result().join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for transaction commit", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private void run() {
+        List<Pending> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                collect(batch);
+                // Callers that gave up waiting are not written
+                batch.removeIf(pending -> pending.result().isDone());
+                if (!batch.isEmpty()) {
+                    flush(batch);
+                }
+            } catch (InterruptedException e) {
+                // Shutdown: keep draining so no queued caller is left waiting
+                running = false;
+            } catch (Throwable e) {
+                // The writer must outlive any one batch; fail its callers rather than every later one
+                System.err.println("Group commit batch of " + batch.size() + " failed: " + e);
+                for (Pending pending : batch) {
+                    pending.result().completeExceptionally(e);
+                }
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void collect(List<Pending> batch) throws InterruptedException {
+        Pending first = queue.poll(100, TimeUnit.MILLISECONDS);
+        if (first == null) {
+            return;
+        }
+        batch.add(first);
+        long deadline = System.nanoTime() + maxDelay.toNanos();
+        while (batch.size() < batchSize) {
+            queue.drainTo(batch, batchSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= batchSize || remaining <= 0) {
+                break;
+            }
+            Pending next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                break;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void flush(List<Pending> batch) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> write(batch));
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                batch.get(0).result().completeExceptionally(e);
+                return;
+            }
+            // One bad row must not fail its neighbours; retry each on its own
+            for (Pending pending : batch) {
+                pending.transaction().setId(null);
+                flush(List.of(pending));
+            }
+            return;
+        }
+        for (Pending pending : batch) {
+            pending.result().complete(TransactionService.mapToDTO(pending.transaction()));
+        }
+    }
+
+    private void write(List<Pending> batch) {
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(TransactionImportService.INSERT_SQL,
+                    Statement.RETURN_GENERATED_KEYS)) {
+                for (Pending pending : batch) {
+                    Transaction t = pending.transaction();
+                    ps.setLong(1, t.getUser().getId());
+                    ps.setString(2, t.getType().name());
+                    ps.setString(3, t.getCategory());
+                    ps.setBigDecimal(4, t.getAmount());
+                    ps.setBigDecimal(5, t.getOriginalAmount());
+                    ps.setString(6, t.getOriginalCurrency());
+                    ps.setBigDecimal(7, t.getConversionRate());
+                    ps.setDate(8, Date.valueOf(t.getDate()));
+                    ps.setString(9, t.getDescription());
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+                try (ResultSet keys = ps.getGeneratedKeys()) {
+                    for (Pending pending : batch) {
+                        if (keys.next()) {
+                            pending.transaction().setId(keys.getLong(1));
+                        }
+                    }
+                }
+            }
+            return null;
+        });
+
+        Map<Long, List<Transaction>> byUser = new LinkedHashMap<>();
+        for (Pending pending : batch) {
+            Transaction t = pending.transaction();
+            byUser.computeIfAbsent(t.getUser().getId(), id -> new ArrayList<>()).add(t);
+        }
+        byUser.forEach((userId, transactions) -> {
+            monthlySummaryService.recordTransactions(userId, transactions);
+            eventPublisher.publishEvent(new UserDataChangedEvent(userId));
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        if (writer != null) {
+            writer.join(Duration.ofSeconds(10));
+        }
+        // Anything that slipped in after the writer stopped is refused rather than left hanging
+        Pending pending;
+        while ((pending = queue.poll()) != null) {
+            pending.result().completeExceptionally(new ServiceOverloadedException("Shutting down, retry shortly"));
+        }
+    }
+
+    private record Pending(Transaction transaction, CompletableFuture<TransactionDTO> result) {
+    }
+}
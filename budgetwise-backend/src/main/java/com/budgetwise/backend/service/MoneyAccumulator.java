@@ -0,0 +1,69 @@
+package com.budgetwise.backend.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Mutable running total for money amounts. Amounts with up to two decimals and
+ * at most 16 significant digits (every value the DECIMAL(38,2) columns hold in
+ * practice) are added as {@code long} hundredths, so a fold over many rows does
+ * not create a new BigDecimal per row. Anything else, and any sum that would
+ * overflow a long, spills into an exact BigDecimal remainder.
+ *
+ * <p>{@link #toBigDecimal()} returns exactly what folding the same amounts into
+ * {@code BigDecimal.ZERO} with {@code add} returns, scale included.
+ */
+final class MoneyAccumulator {
+
+    private static final int UNIT_SCALE = 2;
+    private static final int MAX_FAST_DIGITS = 16;
+    private static final long[] UNIT_FACTORS = { 100, 10, 1 };
+
+    private long units; // hundredths
+    private BigDecimal spill; // exact overflow / high-precision part, null until needed
+    private int maxScale; // BigDecimal.add keeps the larger scale; ZERO contributes 0
+
+    void add(BigDecimal amount) {
+        accumulate(amount, false);
+    }
+
+    void subtract(BigDecimal amount) {
+        accumulate(amount, true);
+    }
+
+    BigDecimal toBigDecimal() {
+        BigDecimal sum = BigDecimal.valueOf(units, UNIT_SCALE);
+        if (spill != null) {
+            sum = sum.add(spill);
+        }
+        // Every input had scale <= maxScale, so this never rounds
+        return sum.setScale(maxScale, RoundingMode.UNNECESSARY);
+    }
+
+    private void accumulate(BigDecimal amount, boolean negate) {
+        int scale = amount.scale();
+        if (scale > maxScale) {
+            maxScale = scale;
+        }
+        if (scale >= 0 && scale <= UNIT_SCALE && amount.precision() <= MAX_FAST_DIGITS) {
+            long value = amount.unscaledValue().longValue() * UNIT_FACTORS[scale];
+            if (negate) {
+                value = -value;
+            }
+            long sum = units + value;
+            if (((units ^ sum) & (value ^ sum)) < 0) {
+                // Overflow: move the running total out of the long and start again from this value
+                spillExact(BigDecimal.valueOf(units, UNIT_SCALE));
+                units = value;
+            } else {
+                units = sum;
+            }
+        } else {
+            spillExact(negate ? amount.negate() : amount);
+        }
+    }
+
+    private void spillExact(BigDecimal amount) {
+        spill = spill == null ? amount : spill.add(amount);
+    }
+}
@@ -0,0 +1,87 @@
+package com.budgetwise.backend.service;
+
+import java.math.BigDecimal;
+
+/**
+ * {@link MoneyAccumulator}s keyed by a primitive {@code long}, e.g. a month
+ * index or a packed (month, category id) pair, so grouping rows needs neither a
+ * composite String key nor a boxed key per row. Open addressing with linear
+ * probing; not thread-safe.
+ */
+final class MoneyTotals {
+
+    private long[] keys;
+    private MoneyAccumulator[] values;
+    private int size;
+
+    MoneyTotals() {
+        this(16);
+    }
+
+    MoneyTotals(int expectedKeys) {
+        int capacity = Integer.highestOneBit(Math.max(16, expectedKeys * 2) - 1) << 1;
+        keys = new long[capacity];
+        values = new MoneyAccumulator[capacity];
+    }
+
+    void add(long key, BigDecimal amount) {
+        accumulator(key).add(amount);
+    }
+
+    void subtract(long key, BigDecimal amount) {
+        accumulator(key).subtract(amount);
+    }
+
+    /**
+     * The total for a key, or {@code defaultValue} if nothing was added under it.
+     */
+    BigDecimal get(long key, BigDecimal defaultValue) {
+        int mask = keys.length - 1;
+        for (int i = slot(key, mask); values[i] != null; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                return values[i].toBigDecimal();
+            }
+        }
+        return defaultValue;
+    }
+
+    private MoneyAccumulator accumulator(long key) {
+        int mask = keys.length - 1;
+        int i = slot(key, mask);
+        for (; values[i] != null; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                return values[i];
+            }
+        }
+        MoneyAccumulator created = new MoneyAccumulator();
+        keys[i] = key;
+        values[i] = created;
+        if (++size * 2 > keys.length) {
+            grow();
+        }
+        return created;
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        MoneyAccumulator[] oldValues = values;
+        keys = new long[oldKeys.length * 2];
+        values = new MoneyAccumulator[oldValues.length * 2];
+        int mask = keys.length - 1;
+        for (int j = 0; j < oldKeys.length; j++) {
+            if (oldValues[j] != null) {
+                int i = slot(oldKeys[j], mask);
+                while (values[i] != null) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = oldKeys[j];
+                values[i] = oldValues[j];
+            }
+        }
+    }
+
+    private static int slot(long key, int mask) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+}
@@ -0,0 +1,108 @@
+package com.budgetwise.backend.service;
+
+import com.budgetwise.backend.entity.Transaction;
+import com.budgetwise.backend.repository.ArchivedTransactionRepository;
+import com.budgetwise.backend.repository.MonthlySummaryRepository;
+import com.budgetwise.backend.repository.TransactionRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+@Service
+public class MonthlySummaryService {
+
+    // Matches the numeric(38,2) columns Hibernate generates for BigDecimal amounts
+    static final int MONEY_SCALE = 2;
+
+    private final MonthlySummaryRepository monthlySummaryRepository;
+    private final TransactionRepository transactionRepository;
+    private final ArchivedTransactionRepository archivedTransactionRepository;
+
+    public MonthlySummaryService(MonthlySummaryRepository monthlySummaryRepository,
+            TransactionRepository transactionRepository, ArchivedTransactionRepository archivedTransactionRepository) {
+        this.monthlySummaryRepository = monthlySummaryRepository;
+        this.transactionRepository = transactionRepository;
+        this.archivedTransactionRepository = archivedTransactionRepository;
+    }
+
+    /**
+     * Adds a newly saved transaction to its monthly bucket. Must run inside the
+     * caller's transaction so the rollup commits or rolls back with the row.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordTransaction(Transaction transaction) {
+        monthlySummaryRepository.addToBucket(
+                transaction.getUser().getId(),
+                transaction.getDate().getYear(),
+                transaction.getDate().getMonthValue(),
+                transaction.getType().name(),
+                transaction.getCategory(),
+                toStoredAmount(transaction.getAmount()),
+                1L);
+    }
+
+    /**
+     * Adds a batch of transactions for one user, issuing one upsert per distinct
+     * bucket rather than one per row.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordTransactions(Long userId, Collection<Transaction> transactions) {
+        Map<Bucket, BigDecimal> amounts = new HashMap<>();
+        Map<Bucket, Long> counts = new HashMap<>();
+        for (Transaction t : transactions) {
+            Bucket bucket = new Bucket(t.getDate().getYear(), t.getDate().getMonthValue(), t.getType(),
+                    t.getCategory());
+            amounts.merge(bucket, toStoredAmount(t.getAmount()), BigDecimal::add);
+            counts.merge(bucket, 1L, Long::sum);
+        }
+        amounts.forEach((bucket, amount) -> monthlySummaryRepository.addToBucket(userId, bucket.year(),
+                bucket.month(), bucket.type().name(), bucket.category(), amount, counts.get(bucket)));
+    }
+
+    /**
+     * Removes a transaction that is about to be deleted from its monthly bucket,
+     * dropping the bucket once it no longer covers any transactions.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void removeTransaction(Transaction transaction) {
+        Long userId = transaction.getUser().getId();
+        Integer year = transaction.getDate().getYear();
+        Integer month = transaction.getDate().getMonthValue();
+
+        monthlySummaryRepository.addToBucket(userId, year, month, transaction.getType().name(),
+                transaction.getCategory(), toStoredAmount(transaction.getAmount()).negate(), -1L);
+        monthlySummaryRepository.deleteEmptyBucket(userId, year, month, transaction.getType(),
+                transaction.getCategory());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfillIfEmpty() {
+        if (monthlySummaryRepository.count() == 0
+                && (transactionRepository.count() > 0 || archivedTransactionRepository.count() > 0)) {
+            int buckets = monthlySummaryRepository.rebuildFromTransactions();
+            // Archived months may share buckets with back-dated hot rows, so add them through the upsert
+            for (ArchivedTransactionRepository.MonthBucket bucket : archivedTransactionRepository.sumByMonth()) {
+                monthlySummaryRepository.addToBucket(bucket.getUserId(), bucket.getYear(), bucket.getMonth(),
+                        bucket.getType().name(), bucket.getCategory(), bucket.getAmount(), bucket.getCount());
+            }
+            System.out.println("Backfilled " + buckets + " monthly summary rows from existing transactions");
+        }
+    }
+
+    private BigDecimal toStoredAmount(BigDecimal amount) {
+        // Round the same way the amount column does so the rollup never drifts from SUM(amount)
+        return amount.setScale(MONEY_SCALE, RoundingMode.HALF_UP);
+    }
+
+    private record Bucket(Integer year, Integer month, Transaction.TransactionType type, String category) {
+    }
+}
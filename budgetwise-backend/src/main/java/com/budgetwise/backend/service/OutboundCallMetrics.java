@@ -0,0 +1,64 @@
+package com.budgetwise.backend.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+/**
+ * Timers and error counters for calls leaving the service (currency API,
+ * Gemini). Tags are limited to the fixed target name, outcome and HTTP status
+ * so series stay bounded; 429s get their own counter because they mean quota
+ * exhaustion rather than a fault on either side.
+ */
+@Component
+public class OutboundCallMetrics {
+
+    public static final String CURRENCY_API = "currency-api";
+    public static final String GEMINI = "gemini";
+
+    // Status used when the call failed without an HTTP response (timeout, DNS, parse error)
+    public static final int NO_RESPONSE = 0;
+
+    private final MeterRegistry registry;
+
+    public OutboundCallMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    public Timer.Sample start() {
+        return Timer.start(registry);
+    }
+
+    public void success(Timer.Sample sample, String target) {
+        sample.stop(timer(target, "success"));
+    }
+
+    public void failure(Timer.Sample sample, String target, int status) {
+        boolean rateLimited = status == 429;
+        sample.stop(timer(target, rateLimited ? "rate_limited" : "error"));
+        if (rateLimited) {
+            Counter.builder("budgetwise.outbound.rate_limited")
+                    .description("Outbound calls rejected with HTTP 429")
+                    .tag("target", target)
+                    .register(registry)
+                    .increment();
+        } else {
+            Counter.builder("budgetwise.outbound.errors")
+                    .description("Outbound calls that failed")
+                    .tag("target", target)
+                    .tag("status", status == NO_RESPONSE ? "none" : String.valueOf(status))
+                    .register(registry)
+                    .increment();
+        }
+    }
+
+    private Timer timer(String target, String outcome) {
+        return Timer.builder("budgetwise.outbound")
+                .description("Latency of calls to external services")
+                .tag("target", target)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+}
@@ -4,13 +4,15 @@ import com.budgetwise.backend.dto.SavingsDTO;
 import com.budgetwise.backend.entity.Savings;
 import com.budgetwise.backend.entity.Transaction;
 import com.budgetwise.backend.entity.User;
+import com.budgetwise.backend.repository.MonthlySummaryRepository;
+import com.budgetwise.backend.repository.MonthlySummaryRepository.TypeMonthTotal;
 import com.budgetwise.backend.repository.SavingsRepository;
-import com.budgetwise.backend.repository.TransactionRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.time.temporal.TemporalAdjusters;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -19,18 +21,20 @@ import java.util.stream.Collectors;
 public class SavingsService {
 
     private final SavingsRepository savingsRepository;
-    private final TransactionRepository transactionRepository;
-    private final UserService userService;
+    private final MonthlySummaryRepository monthlySummaryRepository;
+    private final CurrentUserResolver currentUserResolver;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public SavingsService(SavingsRepository savingsRepository, TransactionRepository transactionRepository,
-            UserService userService) {
+    public SavingsService(SavingsRepository savingsRepository, MonthlySummaryRepository monthlySummaryRepository,
+            CurrentUserResolver currentUserResolver, ApplicationEventPublisher eventPublisher) {
         this.savingsRepository = savingsRepository;
-        this.transactionRepository = transactionRepository;
-        this.userService = userService;
+        this.monthlySummaryRepository = monthlySummaryRepository;
+        this.currentUserResolver = currentUserResolver;
+        this.eventPublisher = eventPublisher;
     }
 
     public SavingsDTO createOrUpdateSavings(String clerkId, SavingsDTO dto) {
-        User user = userService.getUserByClerkId(clerkId);
+        User user = currentUserResolver.resolve(clerkId);
 
         // Use current month/year if not provided
         LocalDate now = LocalDate.now();
@@ -62,11 +66,13 @@ public class SavingsService {
         }
 
         Savings saved = savingsRepository.save(savings);
-        return mapToDTO(saved, calculateProgressForSavings(saved));
+        eventPublisher.publishEvent(new UserDataChangedEvent(user.getId()));
+        return mapToDTO(saved, calculateProgressForSavings(saved, loadNetByMonth(user)));
     }
 
+    @Transactional(readOnly = true)
     public List<SavingsDTO> getAllSavings(String clerkId, Integer month, Integer year) {
-        User user = userService.getUserByClerkId(clerkId);
+        User user = currentUserResolver.resolve(clerkId);
         List<Savings> savingsList;
 
         if (month != null && year != null) {
@@ -76,38 +82,44 @@ public class SavingsService {
             savingsList = savingsRepository.findByUser(user);
         }
 
+        if (savingsList.isEmpty()) {
+            return List.of();
+        }
+
+        // Income minus expense for every tracked month comes from one grouped query
+        MoneyTotals netByMonth = loadNetByMonth(user);
         return savingsList.stream()
-                .map(s -> mapToDTO(s, calculateProgressForSavings(s)))
+                .map(s -> mapToDTO(s, calculateProgressForSavings(s, netByMonth)))
                 .collect(Collectors.toList());
     }
 
-    private BigDecimal calculateProgressForSavings(Savings savings) {
-        try {
-            LocalDate startDate = LocalDate.of(savings.getYear(), savings.getMonth(), 1);
-            LocalDate endDate = startDate.with(TemporalAdjusters.lastDayOfMonth());
-
-            List<Transaction> transactions = transactionRepository.findByUserAndDateBetween(
-                    savings.getUser(), startDate, endDate);
-
-            BigDecimal totalIncome = transactions.stream()
-                    .filter(t -> t.getType() == Transaction.TransactionType.INCOME)
-                    .map(Transaction::getAmount)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
+    private MoneyTotals loadNetByMonth(User user) {
+        List<TypeMonthTotal> totals = monthlySummaryRepository.sumByMonthAndType(user);
+        MoneyTotals netByMonth = new MoneyTotals(totals.size());
+        for (TypeMonthTotal total : totals) {
+            long month = monthKey(total.getYear(), total.getMonth());
+            if (total.getType() == Transaction.TransactionType.INCOME) {
+                netByMonth.add(month, total.getAmount());
+            } else {
+                netByMonth.subtract(month, total.getAmount());
+            }
+        }
+        return netByMonth;
+    }
 
-            BigDecimal totalExpense = transactions.stream()
-                    .filter(t -> t.getType() == Transaction.TransactionType.EXPENSE)
-                    .map(Transaction::getAmount)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
+    private static long monthKey(int year, int month) {
+        return year * 12L + month - 1;
+    }
 
-            return totalIncome.subtract(totalExpense);
-        } catch (Exception e) {
-            System.err.println("Error calculating progress for savings: " + e.getMessage());
+    private BigDecimal calculateProgressForSavings(Savings savings, MoneyTotals netByMonth) {
+        if (savings.getYear() == null || savings.getMonth() == null) {
             return BigDecimal.ZERO;
         }
+        return netByMonth.get(monthKey(savings.getYear(), savings.getMonth()), BigDecimal.ZERO);
     }
 
     public void deleteSavings(String clerkId, Long savingsId) {
-        User user = userService.getUserByClerkId(clerkId);
+        User user = currentUserResolver.resolve(clerkId);
         Savings savings = savingsRepository.findById(savingsId)
                 .orElseThrow(() -> new RuntimeException("Savings record not found"));
 
@@ -116,6 +128,7 @@ public class SavingsService {
         }
 
         savingsRepository.delete(savings);
+        eventPublisher.publishEvent(new UserDataChangedEvent(user.getId()));
     }
 
     private SavingsDTO mapToDTO(Savings savings, BigDecimal progressAmount) {
@@ -0,0 +1,117 @@
+package com.budgetwise.backend.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Moves transactions older than the horizon from {@code transactions} into
+ * {@code transactions_archive}, so the hot table and its indexes only hold
+ * recent history. The monthly rollup is not touched: dashboard totals, budgets
+ * and savings keep counting archived rows from it, per user, month, type and
+ * category. Listings and exports read both tables.
+ *
+ * <p>Archiving costs every listing page a second query: the archive seek, which
+ * for recent pages is bounded by the hot page's oldest date and returns nothing.
+ * It pays off only once the hot table's index no longer fits the buffer pool,
+ * which has not been measured; the one run so far, 1M rows on in-memory H2
+ * ({@code TransactionArchiveBenchmark}), made inserts faster (p99 19.7 to
+ * 1.5 ms) but the first page slower (p50 12.3 to 31.2 ms). Archiving is
+ * therefore off by default, and should not be turned on for listing latency
+ * until the benchmark's 10M-row MySQL run shows a gain.
+ */
+@Service
+public class TransactionArchiveService {
+
+    private static final String COLUMNS = "id, user_id, type, category, amount, original_amount, "
+            + "original_currency, conversion_rate, date, description";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final Period horizon;
+    private final int batchSize;
+
+    public TransactionArchiveService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+            @Value("${transactions.archive.enabled:false}") boolean enabled,
+            @Value("${transactions.archive.horizon:2y}") Period horizon,
+            @Value("${transactions.archive.batch-size:1000}") int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("transactions.archive.batch-size must be positive");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.horizon = horizon;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(cron = "${transactions.archive.cron:0 30 3 * * *}")
+    public void archiveOnSchedule() {
+        if (!enabled) {
+            return;
+        }
+        LocalDate cutoff = LocalDate.now().minus(horizon);
+        long started = System.nanoTime();
+        int moved = archiveBefore(cutoff);
+        System.out.println("Archived " + moved + " transactions dated before " + cutoff + " in "
+                + (System.nanoTime() - started) / 1_000_000 + " ms");
+    }
+
+    /**
+     * Moves every transaction dated before {@code cutoff}, walking the primary key
+     * in batches that each commit on their own, so locks are held on one batch at
+     * a time and an interrupted run simply resumes on the next one.
+     *
+     * <p>The row holding the highest id is always left in place, even when it is
+     * old enough. InnoDB before MySQL 8.0 recomputes AUTO_INCREMENT as
+     * {@code MAX(id) + 1} of the table on restart; if that row had moved, the
+     * next insert could reuse an archived id, duplicating it across the two
+     * tables and colliding with the archive's primary key on the next run. Once
+     * a newer row arrives, the held-back one is archived with the others.
+     */
+    public int archiveBefore(LocalDate cutoff) {
+        Long newestId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM transactions", Long.class);
+        if (newestId == null) {
+            return 0;
+        }
+        int moved = 0;
+        long afterId = 0;
+        while (true) {
+            List<Long> ids = jdbcTemplate.queryForList(
+                    "SELECT id FROM transactions WHERE id > ? AND id < ? AND date < ? ORDER BY id LIMIT ?",
+                    Long.class, afterId, newestId, Date.valueOf(cutoff), batchSize);
+            if (ids.isEmpty()) {
+                return moved;
+            }
+            moved += transactionTemplate.execute(status -> moveBatch(ids));
+            afterId = ids.get(ids.size() - 1);
+        }
+    }
+
+    private int moveBatch(List<Long> ids) {
+        String placeholders = String.join(",", Collections.nCopies(ids.size(), "?"));
+        // Lock the rows first so a concurrent delete cannot leave a copy behind in the archive
+        List<Long> locked = jdbcTemplate.queryForList(
+                "SELECT id FROM transactions WHERE id IN (" + placeholders + ") FOR UPDATE", Long.class,
+                ids.toArray());
+        if (locked.isEmpty()) {
+            return 0;
+        }
+        String lockedPlaceholders = String.join(",", Collections.nCopies(locked.size(), "?"));
+        Object[] args = locked.toArray();
+        int copied = jdbcTemplate.update("INSERT INTO transactions_archive (" + COLUMNS + ") SELECT " + COLUMNS
+                + " FROM transactions WHERE id IN (" + lockedPlaceholders + ")", args);
+        jdbcTemplate.update("DELETE FROM transactions WHERE id IN (" + lockedPlaceholders + ")", args);
+        return copied;
+    }
+}
@@ -0,0 +1,15 @@
+package com.budgetwise.backend.service;
+
+import com.budgetwise.backend.entity.Transaction;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * One transaction added ({@code amount} positive) or removed (negative), with
+ * the user's data version that the change committed as. Lets the analytics
+ * index apply the change in place rather than reloading the user's history.
+ */
+public record TransactionChangedEvent(Long userId, long dataVersion, Transaction.TransactionType type,
+        String category, LocalDate date, BigDecimal amount) {
+}
@@ -0,0 +1,314 @@
+package com.budgetwise.backend.service;
+
+import com.budgetwise.backend.dto.ImportResultDTO;
+import com.budgetwise.backend.dto.TransactionDTO;
+import com.budgetwise.backend.entity.Transaction;
+import com.budgetwise.backend.entity.User;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.MappingIterator;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Bulk import for statement backfills. Rows are streamed from the request body,
+ * converted at the rate in effect on each row's date, and written with JDBC
+ * batch inserts committed chunk by chunk, so a bad chunk never rolls back rows
+ * that were already imported.
+ */
+@Service
+public class TransactionImportService {
+
+    private static final int MAX_REPORTED_REJECTIONS = 100;
+    private static final int MAX_TEXT_LENGTH = 255;
+
+    // Ids come from AUTO_INCREMENT; with rewriteBatchedStatements=true MySQL receives one multi-row INSERT per chunk
+    static final String INSERT_SQL = "INSERT INTO transactions (user_id, type, category, amount, "
+            + "original_amount, original_currency, conversion_rate, date, description) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final CurrentUserResolver currentUserResolver;
+    private final CurrencyService currencyService;
+    private final MonthlySummaryService monthlySummaryService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int batchSize;
+
+    public TransactionImportService(CurrentUserResolver currentUserResolver, CurrencyService currencyService,
+            MonthlySummaryService monthlySummaryService, JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager, ObjectMapper objectMapper,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${transactions.import.batch-size:500}") int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("transactions.import.batch-size must be positive");
+        }
+        this.currentUserResolver = currentUserResolver;
+        this.currencyService = currencyService;
+        this.monthlySummaryService = monthlySummaryService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Imports a CSV document with a header row. Columns are matched by name
+     * (case and punctuation insensitive), so files produced by the CSV export
+     * can be imported as-is.
+     */
+    public ImportResultDTO importCsv(String clerkId, InputStream in) throws IOException {
+        ImportSession session = new ImportSession(currentUserResolver.resolve(clerkId));
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+
+        String headerLine = reader.readLine();
+        if (headerLine == null) {
+            return session.finish();
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        List<String> header = parseCsvLine(headerLine);
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(normalizeHeader(header.get(i)), i);
+        }
+        if (!columns.containsKey("date") || !columns.containsKey("type") || !columns.containsKey("category")) {
+            throw new IllegalArgumentException("CSV header must contain Date, Type and Category columns");
+        }
+
+        long row = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            row++;
+            try {
+                List<String> fields = parseCsvLine(line);
+                TransactionDTO dto = new TransactionDTO();
+                dto.setDate(LocalDate.parse(field(fields, columns, "date")));
+                dto.setType(Transaction.TransactionType.valueOf(
+                        field(fields, columns, "type").toUpperCase(Locale.ROOT)));
+                dto.setCategory(field(fields, columns, "category"));
+                dto.setAmount(decimal(field(fields, columns, "amount", "amountinr")));
+                dto.setOriginalAmount(decimal(field(fields, columns, "originalamount")));
+                dto.setOriginalCurrency(field(fields, columns, "originalcurrency", "currency"));
+                dto.setDescription(field(fields, columns, "description"));
+                session.accept(row, dto);
+            } catch (RuntimeException e) {
+                session.reject(row, e.getMessage());
+            }
+        }
+        return session.finish();
+    }
+
+    /**
+     * Imports a JSON array of transaction objects, reading one element at a time.
+     */
+    public ImportResultDTO importJson(String clerkId, InputStream in) {
+        ImportSession session = new ImportSession(currentUserResolver.resolve(clerkId));
+        long row = 0;
+        try (MappingIterator<JsonNode> elements = objectMapper.readerFor(JsonNode.class).readValues(in)) {
+            while (elements.hasNextValue()) {
+                JsonNode node = elements.nextValue();
+                row++;
+                try {
+                    session.accept(row, objectMapper.treeToValue(node, TransactionDTO.class));
+                } catch (RuntimeException e) {
+                    session.reject(row, e.getMessage());
+                }
+            }
+        } catch (JacksonException e) {
+            // Malformed JSON past this point; keep what was already committed
+            session.reject(row + 1, "Malformed JSON: " + e.getOriginalMessage());
+        }
+        return session.finish();
+    }
+
+    private class ImportSession {
+        private final User user;
+        private final Map<RateKey, BigDecimal> rates = new HashMap<>();
+        private final List<Transaction> pending = new ArrayList<>(batchSize);
+        private final List<Long> pendingRows = new ArrayList<>(batchSize);
+        private final ImportResultDTO result = new ImportResultDTO();
+
+        ImportSession(User user) {
+            this.user = user;
+        }
+
+        void accept(long row, TransactionDTO dto) {
+            String problem = validate(dto);
+            if (problem != null) {
+                reject(row, problem);
+                return;
+            }
+
+            Transaction transaction = new Transaction();
+            transaction.setUser(user);
+            transaction.setType(dto.getType());
+            transaction.setCategory(dto.getCategory());
+            transaction.setOriginalAmount(dto.getOriginalAmount() != null ? dto.getOriginalAmount() : dto.getAmount());
+            String currency = dto.getOriginalCurrency() == null || dto.getOriginalCurrency().isBlank()
+                    ? "INR"
+                    : dto.getOriginalCurrency().toUpperCase(Locale.ROOT);
+            transaction.setOriginalCurrency(currency);
+
+            // One rate lookup per distinct (currency, date) for the whole import
+            BigDecimal rate = rates.computeIfAbsent(new RateKey(currency, dto.getDate()),
+                    key -> currencyService.getExchangeRate(key.currency(), "INR", key.date()));
+            transaction.setConversionRate(rate);
+            transaction.setAmount(transaction.getOriginalAmount().multiply(rate));
+            transaction.setDate(dto.getDate());
+            transaction.setDescription(dto.getDescription());
+
+            pending.add(transaction);
+            pendingRows.add(row);
+            if (pending.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        void reject(long row, String reason) {
+            result.setRejected(result.getRejected() + 1);
+            if (result.getRejectedRows().size() < MAX_REPORTED_REJECTIONS) {
+                result.getRejectedRows().add(new ImportResultDTO.RejectedRow(row, reason));
+            }
+        }
+
+        ImportResultDTO finish() {
+            flush();
+            return result;
+        }
+
+        private void flush() {
+            if (pending.isEmpty()) {
+                return;
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    jdbcTemplate.batchUpdate(INSERT_SQL, pending, pending.size(), (ps, t) -> {
+                        ps.setLong(1, user.getId());
+                        ps.setString(2, t.getType().name());
+                        ps.setString(3, t.getCategory());
+                        ps.setBigDecimal(4, t.getAmount());
+                        ps.setBigDecimal(5, t.getOriginalAmount());
+                        ps.setString(6, t.getOriginalCurrency());
+                        ps.setBigDecimal(7, t.getConversionRate());
+                        ps.setDate(8, Date.valueOf(t.getDate()));
+                        ps.setString(9, t.getDescription());
+                    });
+                    monthlySummaryService.recordTransactions(user.getId(), pending);
+                    eventPublisher.publishEvent(new UserDataChangedEvent(user.getId()));
+                });
+                result.setImported(result.getImported() + pending.size());
+            } catch (RuntimeException e) {
+                System.err.println("Import chunk failed for user " + user.getId() + ": " + e.getMessage());
+                for (Long row : pendingRows) {
+                    reject(row, "Chunk rolled back: " + e.getMessage());
+                }
+            } finally {
+                pending.clear();
+                pendingRows.clear();
+            }
+        }
+    }
+
+    private record RateKey(String currency, LocalDate date) {
+    }
+
+    private static String validate(TransactionDTO dto) {
+        if (dto.getType() == null) {
+            return "Type is required";
+        }
+        if (dto.getDate() == null) {
+            return "Date is required";
+        }
+        if (dto.getCategory() == null || dto.getCategory().isBlank()) {
+            return "Category is required";
+        }
+        if (dto.getAmount() == null && dto.getOriginalAmount() == null) {
+            return "Amount is required";
+        }
+        if (dto.getCategory().length() > MAX_TEXT_LENGTH
+                || (dto.getDescription() != null && dto.getDescription().length() > MAX_TEXT_LENGTH)) {
+            return "Category and description must be at most " + MAX_TEXT_LENGTH + " characters";
+        }
+        return null;
+    }
+
+    private static String field(List<String> fields, Map<String, Integer> columns, String... names) {
+        for (String name : names) {
+            Integer index = columns.get(name);
+            if (index != null && index < fields.size()) {
+                String value = fields.get(index).trim();
+                return value.isEmpty() ? null : value;
+            }
+        }
+        return null;
+    }
+
+    private static BigDecimal decimal(String value) {
+        return value == null ? null : new BigDecimal(value);
+    }
+
+    private static String normalizeHeader(String name) {
+        StringBuilder sb = new StringBuilder(name.length());
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (Character.isLetter(c)) {
+                sb.append(Character.toLowerCase(c));
+            }
+        }
+        return sb.toString();
+    }
+
+    // Single-line CSV records with optional double-quoted fields ("" escapes a quote)
+    static List<String> parseCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"') {
+                    if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        current.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+}
@@ -1,32 +1,77 @@
 package com.budgetwise.backend.service;
 
 import com.budgetwise.backend.dto.TransactionDTO;
+import com.budgetwise.backend.dto.TransactionPageDTO;
+import com.budgetwise.backend.entity.ArchivedTransaction;
 import com.budgetwise.backend.entity.Transaction;
 import com.budgetwise.backend.entity.User;
+import com.budgetwise.backend.repository.ArchivedTransactionRepository;
 import com.budgetwise.backend.repository.TransactionRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
 import java.util.List;
 import java.util.stream.Collectors;
 
 @Service
 public class TransactionService {
 
+    private static final int MAX_PAGE_SIZE = 200;
+
+    // The order of every listing, hot or archived: (date, id) descending
+    private static final Comparator<TransactionDTO> NEWEST_FIRST = Comparator
+            .comparing(TransactionDTO::getDate).thenComparing(TransactionDTO::getId).reversed();
+
     private final TransactionRepository transactionRepository;
-    private final UserService userService;
+    private final ArchivedTransactionRepository archivedTransactionRepository;
+    private final CurrentUserResolver currentUserResolver;
     private final CurrencyService currencyService;
+    private final MonthlySummaryService monthlySummaryService;
+    private final AnalyticsService analyticsService;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public TransactionService(TransactionRepository transactionRepository, UserService userService,
-            CurrencyService currencyService) {
+    public TransactionService(TransactionRepository transactionRepository,
+            ArchivedTransactionRepository archivedTransactionRepository,
+            CurrentUserResolver currentUserResolver, CurrencyService currencyService,
+            MonthlySummaryService monthlySummaryService, AnalyticsService analyticsService,
+            ApplicationEventPublisher eventPublisher) {
         this.transactionRepository = transactionRepository;
-        this.userService = userService;
+        this.archivedTransactionRepository = archivedTransactionRepository;
+        this.currentUserResolver = currentUserResolver;
         this.currencyService = currencyService;
+        this.monthlySummaryService = monthlySummaryService;
+        this.analyticsService = analyticsService;
+        this.eventPublisher = eventPublisher;
     }
 
+    @Transactional
     public TransactionDTO createTransaction(String clerkId, TransactionDTO dto) {
-        User user = userService.getUserByClerkId(clerkId);
+        User user = currentUserResolver.resolve(clerkId);
+        Transaction transaction = newTransaction(user, dto);
+
+        Transaction saved = transactionRepository.save(transaction);
+        monthlySummaryService.recordTransaction(saved);
+        eventPublisher.publishEvent(new UserDataChangedEvent(user.getId()));
+        analyticsService.recordTransaction(saved);
+        return mapToDTO(saved);
+    }
 
+    /**
+     * Builds the unsaved entity for a new transaction, converting the original
+     * amount to INR at the rate in effect on its date.
+     */
+    Transaction newTransaction(User user, TransactionDTO dto) {
         Transaction transaction = new Transaction();
         transaction.setUser(user);
         transaction.setType(dto.getType());
@@ -49,8 +94,8 @@ public class TransactionService {
         BigDecimal amountToConvert = transaction.getOriginalAmount();
         String currencyToConvert = transaction.getOriginalCurrency();
 
-        // Fetch rate
-        BigDecimal rate = currencyService.getExchangeRate(currencyToConvert, "INR");
+        // Rate in effect on the transaction's date; a local lookup when the history covers it
+        BigDecimal rate = currencyService.getExchangeRate(currencyToConvert, "INR", dto.getDate());
         if (rate == null) {
             // Fallback
             rate = getFallbackExchangeRate(currencyToConvert);
@@ -60,9 +105,7 @@ public class TransactionService {
 
         transaction.setDate(dto.getDate());
         transaction.setDescription(dto.getDescription());
-
-        Transaction saved = transactionRepository.save(transaction);
-        return mapToDTO(saved);
+        return transaction;
     }
 
     private BigDecimal getFallbackExchangeRate(String currency) {
@@ -80,18 +123,129 @@ public class TransactionService {
         }
     }
 
+    @Transactional(readOnly = true)
     public List<TransactionDTO> getAllTransactions(String clerkId) {
-        User user = userService.getUserByClerkId(clerkId);
-        return transactionRepository.findAllByUserOrderByDateDesc(user).stream()
-                .map(this::mapToDTO)
+        User user = currentUserResolver.resolve(clerkId);
+        List<TransactionDTO> hot = transactionRepository.findAllByUserOrderByDateDesc(user).stream()
+                .map(TransactionService::mapToDTO)
                 .collect(Collectors.toList());
+        return mergeNewestFirst(hot, archivedTransactionRepository.findAllByUserOrderByDateDesc(user));
+    }
+
+    /**
+     * Keyset-paginated listing ordered by (date, id) descending. The cursor is the
+     * opaque {@code nextCursor} from the previous page, so each page is an index seek
+     * regardless of how deep into the history it is. Archived transactions are
+     * paged with the same cursor and merged in.
+     */
+    @Transactional(readOnly = true)
+    public TransactionPageDTO getTransactionsPage(String clerkId, int limit, String cursor, LocalDate from,
+            LocalDate to, Transaction.TransactionType type, String category) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "'from' date must not be after 'to' date");
+        }
+
+        User user = currentUserResolver.resolve(clerkId);
+        LocalDate afterDate = null;
+        Long afterId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            PageCursor after = decodeCursor(cursor);
+            afterDate = after.date();
+            afterId = after.id();
+        }
+        String categoryFilter = category == null || category.isBlank() ? null : category;
+
+        // Fetch one extra row to learn whether another page exists
+        List<TransactionDTO> rows = transactionRepository.findPage(user.getId(), from, to, type, categoryFilter,
+                afterDate, afterId, Limit.of(limit + 1));
+        // Archived rows can only land on a full page if they are no older than its last row, so bound the
+        // archive seek by that date; recent pages then read nothing from the cold index
+        LocalDate archiveFrom = from;
+        if (rows.size() > limit) {
+            LocalDate oldest = rows.get(limit).getDate();
+            archiveFrom = from == null || oldest.isAfter(from) ? oldest : from;
+        }
+        rows = mergeNewestFirst(rows, archivedTransactionRepository.findPage(user.getId(), archiveFrom, to, type,
+                categoryFilter, afterDate, afterId, Limit.of(limit + 1)));
+
+        TransactionPageDTO page = new TransactionPageDTO();
+        if (rows.size() > limit) {
+            rows = rows.subList(0, limit);
+            TransactionDTO last = rows.get(limit - 1);
+            page.setNextCursor(encodeCursor(last.getDate(), last.getId()));
+        }
+        page.setItems(rows);
+        return page;
+    }
+
+    /**
+     * Merges two lists that are each ordered newest first. Archiving moves rows
+     * strictly older than the hot ones, so this is usually a concatenation; only
+     * rows back-dated since the last archival run interleave.
+     */
+    static List<TransactionDTO> mergeNewestFirst(List<TransactionDTO> hot, List<TransactionDTO> archived) {
+        if (archived.isEmpty()) {
+            return hot;
+        }
+        List<TransactionDTO> merged = new ArrayList<>(hot.size() + archived.size());
+        int i = 0;
+        int j = 0;
+        while (i < hot.size() && j < archived.size()) {
+            merged.add(NEWEST_FIRST.compare(hot.get(i), archived.get(j)) <= 0 ? hot.get(i++) : archived.get(j++));
+        }
+        merged.addAll(hot.subList(i, hot.size()));
+        merged.addAll(archived.subList(j, archived.size()));
+        return merged;
+    }
+
+    private static String encodeCursor(LocalDate date, Long id) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((date + "|" + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Anything that does not decode to a date and an id is rejected the same way, whatever part was tampered with
+    private static PageCursor decodeCursor(String cursor) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new PageCursor(LocalDate.parse(parts[0]), Long.valueOf(parts[1]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor: " + cursor);
+        }
     }
 
+    private record PageCursor(LocalDate date, Long id) {
+    }
+
+    @Transactional
     public void deleteTransaction(Long id) {
-        transactionRepository.deleteById(id);
+        transactionRepository.findById(id).ifPresentOrElse(transaction -> {
+            monthlySummaryService.removeTransaction(transaction);
+            transactionRepository.delete(transaction);
+            eventPublisher.publishEvent(new UserDataChangedEvent(transaction.getUser().getId()));
+            analyticsService.removeTransaction(transaction);
+        }, () -> archivedTransactionRepository.findById(id).ifPresent(archived -> {
+            // Archived rows are still counted in the rollup and the index, so take them out the same way
+            Transaction transaction = restore(archived);
+            monthlySummaryService.removeTransaction(transaction);
+            archivedTransactionRepository.delete(archived);
+            eventPublisher.publishEvent(new UserDataChangedEvent(archived.getUser().getId()));
+            analyticsService.removeTransaction(transaction);
+        }));
+    }
+
+    private static Transaction restore(ArchivedTransaction archived) {
+        return new Transaction(archived.getId(), archived.getUser(), archived.getType(), archived.getCategory(),
+                archived.getAmount(), archived.getOriginalAmount(), archived.getOriginalCurrency(),
+                archived.getConversionRate(), archived.getDate(), archived.getDescription());
     }
 
-    private TransactionDTO mapToDTO(Transaction transaction) {
+    static TransactionDTO mapToDTO(Transaction transaction) {
         TransactionDTO dto = new TransactionDTO();
         dto.setId(transaction.getId());
         dto.setUserId(transaction.getUser().getId());
@@ -0,0 +1,8 @@
+package com.budgetwise.backend.service;
+
+/**
+ * Published whenever a user's transactions, budgets or savings change, so
+ * anything derived from them (such as the cached dashboard) can be dropped.
+ */
+public record UserDataChangedEvent(Long userId) {
+}
@@ -3,20 +3,33 @@ package com.budgetwise.backend.service;
 import com.budgetwise.backend.dto.UserDTO;
 import com.budgetwise.backend.entity.User;
 import com.budgetwise.backend.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+
 @Service
 @Transactional
 public class UserService {
 
     private final UserRepository userRepository;
+    // clerkId -> user id, so steady-state requests need no user lookup at all
+    private final Cache<String, Long> userIdCache;
 
-    public UserService(UserRepository userRepository) {
+    public UserService(UserRepository userRepository,
+            @Value("${users.id-cache.max-size:10000}") long idCacheMaxSize,
+            @Value("${users.id-cache.ttl:10m}") Duration idCacheTtl) {
         this.userRepository = userRepository;
+        this.userIdCache = Caffeine.newBuilder()
+                .maximumSize(idCacheMaxSize)
+                .expireAfterWrite(idCacheTtl)
+                .build();
     }
 
     public User syncUser(UserDTO userDTO) {
@@ -26,6 +39,7 @@ public class UserService {
                     .println("Warning: syncUser called with incomplete identity for clerkId: " + userDTO.getClerkId());
         }
 
+        userIdCache.invalidate(userDTO.getClerkId());
         User user = getOrCreateUser(userDTO.getClerkId(), userDTO.getEmail(), userDTO.getName());
 
         boolean changed = false;
@@ -59,6 +73,7 @@ public class UserService {
             name = jwt.getClaimAsString("name");
         }
 
+        userIdCache.invalidate(clerkId);
         User user = getOrCreateUser(clerkId, email, name);
 
         if (userDTO.getName() != null)
@@ -82,6 +97,21 @@ public class UserService {
         return getOrCreateUser(clerkId, email, name);
     }
 
+    /**
+     * Returns the user for {@code clerkId}, as an uninitialized reference when the id
+     * is cached. Callers may use {@code getId()} and associations freely; other
+     * fields trigger a load.
+     */
+    public User getUserReference(String clerkId) {
+        Long userId = userIdCache.getIfPresent(clerkId);
+        if (userId != null) {
+            return userRepository.getReferenceById(userId);
+        }
+        User user = getUserByClerkId(clerkId);
+        userIdCache.put(clerkId, user.getId());
+        return user;
+    }
+
     public User getOrCreateUser(String clerkId, String email, String name) {
         return userRepository.findByClerkId(clerkId)
                 .orElseGet(() -> {
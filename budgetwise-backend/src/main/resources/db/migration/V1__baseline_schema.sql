@@ -0,0 +1,49 @@
+-- Schema as previously generated by spring.jpa.hibernate.ddl-auto=update, before the monthly rollup and the
+-- listing indexes. Existing databases are baselined at this version and skip this script, so anything
+-- added since belongs in a later migration.
+
+CREATE TABLE users (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    clerk_id VARCHAR(255) NOT NULL,
+    email VARCHAR(255),
+    name VARCHAR(255),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_users_clerk_id UNIQUE (clerk_id),
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+CREATE TABLE transactions (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    user_id BIGINT NOT NULL,
+    type ENUM('EXPENSE', 'INCOME') NOT NULL,
+    category VARCHAR(255) NOT NULL,
+    amount DECIMAL(38, 2) NOT NULL,
+    original_amount DECIMAL(38, 2) NOT NULL,
+    original_currency VARCHAR(255) NOT NULL,
+    conversion_rate DECIMAL(38, 2),
+    date DATE NOT NULL,
+    description VARCHAR(255),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_transactions_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE TABLE budgets (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    user_id BIGINT NOT NULL,
+    category VARCHAR(255) NOT NULL,
+    limit_amount DECIMAL(38, 2) NOT NULL,
+    month INT NOT NULL,
+    year INT NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_budgets_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE TABLE savings (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    user_id BIGINT NOT NULL,
+    target_amount DECIMAL(38, 2) NOT NULL,
+    month INT NOT NULL,
+    year INT NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_savings_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
@@ -0,0 +1,19 @@
+-- Monthly rollup behind the dashboard totals (filled from existing transactions at startup when empty),
+-- and the composite indexes the keyset-paginated and per-category listings seek on.
+
+CREATE TABLE monthly_summaries (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    user_id BIGINT NOT NULL,
+    year INT NOT NULL,
+    month INT NOT NULL,
+    type ENUM('EXPENSE', 'INCOME') NOT NULL,
+    category VARCHAR(255) NOT NULL,
+    amount DECIMAL(38, 2) NOT NULL,
+    transaction_count BIGINT NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_monthly_summaries_bucket UNIQUE (user_id, year, month, type, category),
+    CONSTRAINT fk_monthly_summaries_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE INDEX idx_transactions_user_date_id ON transactions (user_id, date, id);
+CREATE INDEX idx_transactions_user_category_date_id ON transactions (user_id, category, date, id);
@@ -0,0 +1,17 @@
+-- One budget per (user, month, category) and one savings target per (user, month).
+-- The services already upsert on these keys; drop racing duplicates, keeping the newest row.
+
+DELETE FROM budgets WHERE id NOT IN (
+    SELECT keep_id FROM (
+        SELECT MAX(id) AS keep_id FROM budgets GROUP BY user_id, year, month, category
+    ) latest_budgets
+);
+
+DELETE FROM savings WHERE id NOT IN (
+    SELECT keep_id FROM (
+        SELECT MAX(id) AS keep_id FROM savings GROUP BY user_id, year, month
+    ) latest_savings
+);
+
+ALTER TABLE budgets ADD CONSTRAINT uk_budgets_user_period_category UNIQUE (user_id, year, month, category);
+ALTER TABLE savings ADD CONSTRAINT uk_savings_user_period UNIQUE (user_id, year, month);
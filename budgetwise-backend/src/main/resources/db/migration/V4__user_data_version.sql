@@ -0,0 +1,4 @@
+-- Per-user counter bumped with every change to the user's transactions, budgets or savings.
+-- GET endpoints derive their ETags from it, so unchanged polls are answered with 304.
+
+ALTER TABLE users ADD COLUMN data_version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,10 @@
+-- Daily exchange-rate history per currency pair. Filled from every live rates fetch and from
+-- the optional seed file, and held in memory so conversions at a transaction's date are local lookups.
+
+CREATE TABLE exchange_rates (
+    base_currency CHAR(3) NOT NULL,
+    quote_currency CHAR(3) NOT NULL,
+    rate_date DATE NOT NULL,
+    rate DECIMAL(19, 8) NOT NULL,
+    PRIMARY KEY (base_currency, quote_currency, rate_date)
+);
@@ -0,0 +1,19 @@
+-- Cold tier for transactions older than transactions.archive.horizon. Rows keep their original ids
+-- and columns; the monthly_summaries rollup is left as is, so archived rows stay in every total.
+
+CREATE TABLE transactions_archive (
+    id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    type ENUM('EXPENSE', 'INCOME') NOT NULL,
+    category VARCHAR(255) NOT NULL,
+    amount DECIMAL(38, 2) NOT NULL,
+    original_amount DECIMAL(38, 2) NOT NULL,
+    original_currency VARCHAR(255) NOT NULL,
+    conversion_rate DECIMAL(38, 2),
+    date DATE NOT NULL,
+    description VARCHAR(255),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_transactions_archive_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE INDEX idx_transactions_archive_user_date_id ON transactions_archive (user_id, date, id);
@@ -0,0 +1,9 @@
+-- Rollup buckets are keyed on the category exactly as entered, as the Java fold they replaced kept them.
+-- Under the default case- and accent-insensitive collation the bucket key merged "Food" and "food" (or
+-- "Cafe" and "Café") within a month, stored under whichever spelling arrived first. Buckets written that
+-- way cannot be split again, so they are dropped; MonthlySummaryService.backfillIfEmpty rebuilds them from
+-- the transactions and the archive at startup.
+
+DELETE FROM monthly_summaries;
+
+ALTER TABLE monthly_summaries MODIFY category VARCHAR(255) NOT NULL COLLATE utf8mb4_bin;
@@ -0,0 +1,53 @@
+package com.budgetwise.backend;
+
+import com.budgetwise.backend.service.AnalyticsService;
+import com.budgetwise.backend.service.CurrencyService;
+import com.budgetwise.backend.service.CurrentUserResolver;
+import com.budgetwise.backend.service.DataVersionService;
+import com.budgetwise.backend.service.ExchangeRateHistoryService;
+import com.budgetwise.backend.service.MonthlySummaryService;
+import com.budgetwise.backend.service.OutboundCallMetrics;
+import com.budgetwise.backend.service.TransactionService;
+import com.budgetwise.backend.service.UserService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.annotation.AliasFor;
+import org.springframework.test.context.TestPropertySource;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * A {@link DataJpaTest} on an in-memory H2 database in MySQL mode whose schema
+ * is built by the Flyway migrations, as in production, and validated against
+ * the entities. Each test context gets a database of its own. Text compares
+ * without case, as under MySQL's default collation, except in the columns a
+ * migration declares binary (see {@code db/h2/afterMigrate.sql}). The services
+ * a transaction write goes through are imported; a test class adds its own
+ * with {@code @Import} and its own settings with {@link #properties()}.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:${random.uuid};MODE=MySQL;DATABASE_TO_LOWER=TRUE;IGNORECASE=TRUE;"
+                + "NON_KEYWORDS=YEAR,MONTH,VALUE",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.flyway.enabled=true",
+        "spring.flyway.callback-locations=classpath:db/h2"
+})
+@Import({ TransactionService.class, UserService.class, CurrentUserResolver.class, CurrencyService.class,
+        ExchangeRateHistoryService.class, MonthlySummaryService.class, AnalyticsService.class,
+        DataVersionService.class, OutboundCallMetrics.class, SimpleMeterRegistry.class })
+public @interface MigratedDataJpaTest {
+
+    @AliasFor(annotation = DataJpaTest.class)
+    String[] properties() default {};
+}
@@ -0,0 +1,97 @@
+package com.budgetwise.backend.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CachingJwtDecoderTest {
+
+    private static final Instant NOW = Instant.parse("2025-06-15T10:00:00Z");
+
+    private final AtomicInteger delegateCalls = new AtomicInteger();
+    private Instant now = NOW;
+
+    @Test
+    void repeatedTokenIsVerifiedOnce() {
+        CachingJwtDecoder decoder = decoder(NOW.plus(Duration.ofMinutes(1)));
+
+        Jwt first = decoder.decode("token-a");
+        assertSame(first, decoder.decode("token-a"));
+        assertEquals(1, delegateCalls.get());
+
+        decoder.decode("token-b");
+        assertEquals(2, delegateCalls.get());
+    }
+
+    @Test
+    void entriesEndAtTheTokenExpiry() {
+        CachingJwtDecoder decoder = decoder(NOW.plus(Duration.ofMinutes(1)));
+        decoder.decode("token-a");
+
+        now = NOW.plus(Duration.ofMinutes(1));
+        decoder.decode("token-a");
+        assertEquals(2, delegateCalls.get());
+    }
+
+    @Test
+    void tokensWithoutExpiryAreNotCached() {
+        CachingJwtDecoder decoder = decoder(null);
+        decoder.decode("token-a");
+        decoder.decode("token-a");
+        assertEquals(2, delegateCalls.get());
+    }
+
+    @Test
+    void rejectionsAreNotCached() {
+        CachingJwtDecoder decoder = new CachingJwtDecoder(token -> {
+            delegateCalls.incrementAndGet();
+            throw new BadJwtException("bad signature");
+        }, 100, clock());
+
+        assertThrows(BadJwtException.class, () -> decoder.decode("token-a"));
+        assertThrows(BadJwtException.class, () -> decoder.decode("token-a"));
+        assertEquals(2, delegateCalls.get());
+    }
+
+    private CachingJwtDecoder decoder(Instant expiresAt) {
+        return new CachingJwtDecoder(token -> {
+            delegateCalls.incrementAndGet();
+            Jwt.Builder jwt = Jwt.withTokenValue(token)
+                    .header("alg", "RS256")
+                    .subject("user_1")
+                    .issuedAt(NOW.minusSeconds(5));
+            return expiresAt != null ? jwt.expiresAt(expiresAt).build() : jwt.build();
+        }, 100, clock());
+    }
+
+    // Reads the test's current time on every call, so tests can move it forward
+    private Clock clock() {
+        return new Clock() {
+            @Override
+            public ZoneId getZone() {
+                return ZoneOffset.UTC;
+            }
+
+            @Override
+            public Clock withZone(ZoneId zone) {
+                return this;
+            }
+
+            @Override
+            public Instant instant() {
+                return now;
+            }
+        };
+    }
+}
@@ -0,0 +1,169 @@
+package com.budgetwise.backend.config;
+
+import com.budgetwise.backend.MigratedDataJpaTest;
+import com.budgetwise.backend.entity.User;
+import com.budgetwise.backend.repository.UserRepository;
+import com.budgetwise.backend.service.DataVersionService;
+import org.flywaydb.core.Flyway;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Two embedded H2 databases stand in for the primary and the replica; each
+ * holds a marker row naming itself, so every query shows where it was routed.
+ */
+class ReadReplicaRoutingTest {
+
+    private ReadYourWritesTracker tracker;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readOnly;
+    private TransactionTemplate readWrite;
+
+    @BeforeEach
+    void setUp() {
+        DataSource primary = database("primary");
+        DataSource replica = database("replica");
+        tracker = new ReadYourWritesTracker(Duration.ofMinutes(1), 100);
+        DataSource routing = ReadReplicaConfig.routing(primary, replica, tracker);
+
+        jdbcTemplate = new JdbcTemplate(routing);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(routing);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readOnlyTransactionsUseTheReplica() {
+        assertEquals("replica", readOnly.execute(status -> whereAmI()));
+    }
+
+    @Test
+    void everythingElseUsesThePrimary() {
+        assertEquals("primary", readWrite.execute(status -> whereAmI()));
+        assertEquals("primary", whereAmI());
+    }
+
+    @Test
+    void recentWritersReadFromThePrimary() {
+        authenticate("user_writer");
+        tracker.recordWrite("user_writer");
+        assertEquals("primary", readOnly.execute(status -> whereAmI()));
+
+        authenticate("user_reader");
+        assertEquals("replica", readOnly.execute(status -> whereAmI()));
+    }
+
+    /**
+     * A lagging replica: the user's row there is two versions behind the
+     * primary. The ETag version has to come from wherever the body does.
+     */
+    @Nested
+    @MigratedDataJpaTest(properties = {
+            "datasource.replica.url=" + LaggingReplica.REPLICA_URL,
+            "datasource.replica.username=sa",
+            "datasource.replica.password="
+    })
+    @Import(ReadReplicaConfig.class)
+    // Each read must pick its own database, not join a test transaction on the primary
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    class LaggingReplica {
+
+        static final String REPLICA_URL = "jdbc:h2:mem:routed_replica;MODE=MySQL;DATABASE_TO_LOWER=TRUE;"
+                + "NON_KEYWORDS=YEAR,MONTH,VALUE;DB_CLOSE_DELAY=-1";
+
+        @Autowired
+        private DataVersionService dataVersionService;
+
+        @Autowired
+        private UserRepository userRepository;
+
+        @Autowired
+        private ReadYourWritesTracker readYourWritesTracker;
+
+        @Autowired
+        private PlatformTransactionManager transactionManager;
+
+        @Autowired
+        private DataSource dataSource;
+
+        @Test
+        void theTagVersionIsReadWhereTheBodyIs() {
+            String clerkId = "user_" + UUID.randomUUID();
+            User user = new User();
+            user.setClerkId(clerkId);
+            user.setName("Replica Tester");
+            user.setEmail(clerkId + "@example.com");
+            user = userRepository.save(user);
+            new JdbcTemplate(dataSource).update("UPDATE users SET data_version = 5 WHERE id = ?", user.getId());
+
+            JdbcDataSource replicaDatabase = new JdbcDataSource();
+            replicaDatabase.setURL(REPLICA_URL);
+            replicaDatabase.setUser("sa");
+            Flyway.configure().dataSource(replicaDatabase).load().migrate();
+            new JdbcTemplate(replicaDatabase).update(
+                    "INSERT INTO users (id, clerk_id, email, data_version) VALUES (?, ?, ?, 3)",
+                    user.getId(), clerkId, user.getEmail());
+
+            authenticate(clerkId);
+            assertEquals(3, dataVersionService.current(clerkId).version());
+            assertEquals(3, versionInBody(user.getId()));
+
+            // Right after a write both move to the primary
+            readYourWritesTracker.recordWrite(clerkId);
+            assertEquals(5, dataVersionService.current(clerkId).version());
+            assertEquals(5, versionInBody(user.getId()));
+        }
+
+        // What a list endpoint's body would show, read in a read-only transaction as the lists are
+        private long versionInBody(Long userId) {
+            TransactionTemplate body = new TransactionTemplate(transactionManager);
+            body.setReadOnly(true);
+            return body.execute(status -> userRepository.findById(userId).orElseThrow().getDataVersion());
+        }
+    }
+
+    private String whereAmI() {
+        return jdbcTemplate.queryForObject("SELECT name FROM marker", String.class);
+    }
+
+    private static void authenticate(String clerkId) {
+        Jwt jwt = Jwt.withTokenValue("token-" + clerkId).header("alg", "none").subject(clerkId).build();
+        SecurityContextHolder.getContext().setAuthentication(new JwtAuthenticationToken(jwt));
+    }
+
+    private static DataSource database(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:routing_" + name + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("DROP TABLE IF EXISTS marker");
+        jdbc.execute("CREATE TABLE marker (name VARCHAR(16))");
+        jdbc.update("INSERT INTO marker (name) VALUES (?)", name);
+        return dataSource;
+    }
+}
@@ -0,0 +1,47 @@
+package com.budgetwise.backend.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RequestQueryCounterTest {
+
+    private final ExecutorService worker = Executors.newSingleThreadExecutor();
+
+    @AfterEach
+    void stopWorker() {
+        worker.shutdownNow();
+        RequestQueryCounter.end();
+    }
+
+    @Test
+    void onlyPropagatedTasksCountTowardTheRequest() throws Exception {
+        RequestQueryCounter.Counts counts = RequestQueryCounter.begin();
+        RequestQueryCounter.INSTANCE.inspect("select 1");
+
+        // A thread started during the request does not inherit it
+        Thread started = new Thread(() -> RequestQueryCounter.INSTANCE.inspect("select 2"));
+        started.start();
+        started.join();
+        worker.submit(() -> RequestQueryCounter.INSTANCE.inspect("select 3")).get();
+        assertEquals(1, counts.statements.sum());
+
+        worker.submit(RequestQueryCounter.propagate(() -> RequestQueryCounter.INSTANCE.inspect("select 4"))).get();
+        assertEquals(2, counts.statements.sum());
+    }
+
+    @Test
+    void aPooledWorkerForgetsTheRequestOnceItsTaskEnds() throws Exception {
+        RequestQueryCounter.Counts counts = RequestQueryCounter.begin();
+        worker.submit(RequestQueryCounter.propagate(() -> RequestQueryCounter.INSTANCE.inspect("select 1"))).get();
+        RequestQueryCounter.end();
+
+        // The same worker thread, now running work for nobody
+        worker.submit(() -> RequestQueryCounter.INSTANCE.inspect("select 2")).get();
+        assertEquals(1, counts.statements.sum());
+    }
+}
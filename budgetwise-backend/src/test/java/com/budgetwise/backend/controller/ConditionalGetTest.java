@@ -0,0 +1,149 @@
+package com.budgetwise.backend.controller;
+
+import com.budgetwise.backend.MigratedDataJpaTest;
+import com.budgetwise.backend.dto.SavingsDTO;
+import com.budgetwise.backend.entity.User;
+import com.budgetwise.backend.repository.UserRepository;
+import com.budgetwise.backend.service.DataVersionService;
+import com.budgetwise.backend.service.SavingsService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.jackson.autoconfigure.JacksonAutoConfiguration;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.JacksonCborHttpMessageConverter;
+import org.springframework.http.converter.json.JacksonJsonHttpMessageConverter;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.security.web.method.annotation.AuthenticationPrincipalArgumentResolver;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+@MigratedDataJpaTest
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import(SavingsService.class)
+class ConditionalGetTest {
+
+    @Autowired
+    private SavingsService savingsService;
+
+    @Autowired
+    private DataVersionService dataVersionService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JsonMapper jsonMapper;
+
+    @Autowired
+    private CBORMapper cborMapper;
+
+    private MockMvc mockMvc;
+    private String clerkId;
+
+    @BeforeEach
+    void setUp() {
+        clerkId = "user_" + UUID.randomUUID();
+        User user = new User();
+        user.setClerkId(clerkId);
+        user.setName("Conditional Tester");
+        user.setEmail(clerkId + "@example.com");
+        userRepository.saveAndFlush(user);
+
+        SavingsDTO savings = new SavingsDTO();
+        savings.setMonth(3);
+        savings.setYear(2025);
+        savings.setTargetAmount(new BigDecimal("5000.00"));
+        savingsService.createOrUpdateSavings(clerkId, savings);
+
+        Jwt jwt = Jwt.withTokenValue("token").header("alg", "none").subject(clerkId).build();
+        SecurityContextHolder.getContext().setAuthentication(new JwtAuthenticationToken(jwt));
+        mockMvc = MockMvcBuilders
+                .standaloneSetup(new SavingsController(savingsService, dataVersionService))
+                .setCustomArgumentResolvers(new AuthenticationPrincipalArgumentResolver())
+                .setMessageConverters(new JacksonJsonHttpMessageConverter(jsonMapper),
+                        new JacksonCborHttpMessageConverter(cborMapper))
+                .build();
+    }
+
+    @AfterEach
+    void clearSecurityContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void cborAndJsonBodiesCarryDistinctStrongTags() throws Exception {
+        MvcResult json = fetch(MediaType.APPLICATION_JSON_VALUE, null);
+        MvcResult cbor = fetch(MediaType.APPLICATION_CBOR_VALUE, null);
+
+        assertEquals(200, cbor.getResponse().getStatus());
+        assertTrue(MediaType.APPLICATION_CBOR.isCompatibleWith(
+                MediaType.parseMediaType(cbor.getResponse().getContentType())));
+        String jsonTag = json.getResponse().getHeader(HttpHeaders.ETAG);
+        String cborTag = cbor.getResponse().getHeader(HttpHeaders.ETAG);
+        assertFalse(jsonTag.startsWith("W/"), jsonTag);
+        assertFalse(cborTag.startsWith("W/"), cborTag);
+        assertNotEquals(jsonTag, cborTag);
+        assertEquals(dataVersionService.current(clerkId).etag(), jsonTag);
+        assertTrue(cbor.getResponse().getHeaders(HttpHeaders.VARY).contains(HttpHeaders.ACCEPT));
+    }
+
+    @Test
+    void cborRevalidationIsAnsweredWith304() throws Exception {
+        String cborTag = fetch(MediaType.APPLICATION_CBOR_VALUE, null).getResponse().getHeader(HttpHeaders.ETAG);
+
+        MvcResult revalidated = fetch(MediaType.APPLICATION_CBOR_VALUE, cborTag);
+        assertEquals(304, revalidated.getResponse().getStatus());
+        assertEquals(0, revalidated.getResponse().getContentAsByteArray().length);
+        assertEquals(cborTag, revalidated.getResponse().getHeader(HttpHeaders.ETAG));
+        assertTrue(revalidated.getResponse().getHeaders(HttpHeaders.VARY).contains(HttpHeaders.ACCEPT));
+
+        // A cached CBOR body must not satisfy a JSON request, nor the other way round
+        assertEquals(200, fetch(MediaType.APPLICATION_JSON_VALUE, cborTag).getResponse().getStatus());
+        String jsonTag = fetch(MediaType.APPLICATION_JSON_VALUE, null).getResponse().getHeader(HttpHeaders.ETAG);
+        assertEquals(200, fetch(MediaType.APPLICATION_CBOR_VALUE, jsonTag).getResponse().getStatus());
+    }
+
+    @Test
+    void theTagFollowsTheNegotiatedFormat() throws Exception {
+        String jsonTag = fetch(MediaType.APPLICATION_JSON_VALUE, null).getResponse().getHeader(HttpHeaders.ETAG);
+        String cborTag = fetch(MediaType.APPLICATION_CBOR_VALUE, null).getResponse().getHeader(HttpHeaders.ETAG);
+
+        assertEquals(jsonTag, fetch("*/*", null).getResponse().getHeader(HttpHeaders.ETAG));
+        assertEquals(jsonTag, fetch("application/json, application/cbor", null).getResponse()
+                .getHeader(HttpHeaders.ETAG));
+        // Each time the body is in the format the tag names
+        for (String accept : new String[] { "*/*, application/cbor", "application/json;q=0.5, application/cbor" }) {
+            MvcResult preferred = fetch(accept, null);
+            assertEquals(cborTag, preferred.getResponse().getHeader(HttpHeaders.ETAG), accept);
+            assertTrue(MediaType.APPLICATION_CBOR.isCompatibleWith(
+                    MediaType.parseMediaType(preferred.getResponse().getContentType())), accept);
+        }
+    }
+
+    private MvcResult fetch(String accept, String ifNoneMatch) throws Exception {
+        var request = get("/api/savings").header(HttpHeaders.ACCEPT, accept);
+        if (ifNoneMatch != null) {
+            request.header(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        return mockMvc.perform(request).andReturn();
+    }
+}
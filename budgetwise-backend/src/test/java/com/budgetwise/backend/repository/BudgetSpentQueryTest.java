@@ -0,0 +1,142 @@
+package com.budgetwise.backend.repository;
+
+import com.budgetwise.backend.MigratedDataJpaTest;
+import com.budgetwise.backend.dto.BudgetDTO;
+import com.budgetwise.backend.dto.TransactionDTO;
+import com.budgetwise.backend.entity.Transaction;
+import com.budgetwise.backend.entity.User;
+import com.budgetwise.backend.service.BudgetService;
+import com.budgetwise.backend.service.TransactionService;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@MigratedDataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import(BudgetService.class)
+class BudgetSpentQueryTest {
+
+    private static final String[] CATEGORIES = { "Food", "Rent", "Travel", "Shopping", "Bills", "Health",
+            "Education", "Entertainment", "Fuel", "Gifts" };
+
+    @Autowired
+    private BudgetService budgetService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    // Fresh identity per test; the clerkId -> id cache outlives each test's rollback
+    private String clerkId;
+
+    @BeforeEach
+    void createUser() {
+        clerkId = "user_" + UUID.randomUUID();
+        User user = new User();
+        user.setClerkId(clerkId);
+        user.setName("Budget Tester");
+        user.setEmail(clerkId + "@example.com");
+        userRepository.save(user);
+    }
+
+    @Test
+    void spentAmountsAreMatchedByMonthAndCategoryIgnoringCase() {
+        addExpense("food", "120.50", LocalDate.of(2024, 3, 2));
+        addExpense("FOOD", "79.50", LocalDate.of(2024, 3, 28));
+        addExpense("Food", "500.00", LocalDate.of(2024, 4, 1));
+        addExpense("Rent", "900.00", LocalDate.of(2024, 3, 5));
+        addIncome("Food", "1000.00", LocalDate.of(2024, 3, 10));
+
+        createBudget("Food", 3, 2024);
+        createBudget("Travel", 3, 2024);
+
+        List<BudgetDTO> budgets = budgetService.getAllBudgets(clerkId, null, null, null);
+
+        assertEquals(new BigDecimal("200.00"), spentFor(budgets, "Food"));
+        assertEquals(BigDecimal.ZERO, spentFor(budgets, "Travel"));
+    }
+
+    @Test
+    void queryCountDoesNotGrowWithNumberOfBudgets() {
+        addExpense("Food", "10.00", LocalDate.of(2024, 1, 15));
+        createBudget("Food", 1, 2024);
+        long singleBudgetQueries = countStatements(() -> budgetService.getAllBudgets(clerkId, null, null, null));
+
+        // 3 years x 10 categories
+        for (int year = 2021; year <= 2023; year++) {
+            for (int month = 1; month <= 12; month++) {
+                for (String category : CATEGORIES) {
+                    createBudget(category, month, year);
+                }
+            }
+        }
+        long manyBudgetQueries = countStatements(() -> {
+            List<BudgetDTO> budgets = budgetService.getAllBudgets(clerkId, null, null, null);
+            assertEquals(361, budgets.size());
+        });
+
+        assertEquals(singleBudgetQueries, manyBudgetQueries);
+    }
+
+    private long countStatements(Runnable action) {
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void addExpense(String category, String amount, LocalDate date) {
+        addTransaction(Transaction.TransactionType.EXPENSE, category, amount, date);
+    }
+
+    private void addIncome(String category, String amount, LocalDate date) {
+        addTransaction(Transaction.TransactionType.INCOME, category, amount, date);
+    }
+
+    private void addTransaction(Transaction.TransactionType type, String category, String amount, LocalDate date) {
+        TransactionDTO dto = new TransactionDTO();
+        dto.setType(type);
+        dto.setCategory(category);
+        dto.setAmount(new BigDecimal(amount));
+        dto.setOriginalCurrency("INR");
+        dto.setDate(date);
+        transactionService.createTransaction(clerkId, dto);
+    }
+
+    private void createBudget(String category, int month, int year) {
+        BudgetDTO dto = new BudgetDTO();
+        dto.setCategory(category);
+        dto.setLimitAmount(new BigDecimal("1000.00"));
+        dto.setMonth(month);
+        dto.setYear(year);
+        budgetService.createBudget(clerkId, dto);
+    }
+
+    private BigDecimal spentFor(List<BudgetDTO> budgets, String category) {
+        return budgets.stream()
+                .filter(b -> b.getCategory().equals(category))
+                .findFirst()
+                .orElseThrow()
+                .getSpentAmount();
+    }
+}
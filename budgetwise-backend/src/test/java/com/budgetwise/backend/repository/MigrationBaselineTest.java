@@ -0,0 +1,56 @@
+package com.budgetwise.backend.repository;
+
+import org.flywaydb.core.Flyway;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * A database created by ddl-auto=update before the migrations existed is
+ * baselined at version 1 (spring.flyway.baseline-on-migrate), so it never runs
+ * V1. Everything added since must still reach it through the later scripts.
+ */
+class MigrationBaselineTest {
+
+    @Test
+    void aBaselinedPreMigrationDatabaseGetsEveryLaterChange() throws SQLException {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:baseline;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=YEAR,MONTH,VALUE;"
+                + "DB_CLOSE_DELAY=-1");
+        // The schema Hibernate had generated, which is exactly what V1 describes
+        try (Connection connection = dataSource.getConnection()) {
+            ScriptUtils.executeSqlScript(connection, new ClassPathResource("db/migration/V1__baseline_schema.sql"));
+        }
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.update("INSERT INTO users (id, clerk_id, email) VALUES (1, 'user_existing', 'e@example.com')");
+
+        Flyway.configure()
+                .dataSource(dataSource)
+                .baselineOnMigrate(true)
+                .baselineVersion("1")
+                .load()
+                .migrate();
+
+        for (String table : new String[] { "monthly_summaries", "exchange_rates", "transactions_archive" }) {
+            assertEquals(1, count("SELECT COUNT(*) FROM information_schema.tables WHERE LOWER(table_name) = ?",
+                    jdbcTemplate, table), table);
+        }
+        for (String index : new String[] { "idx_transactions_user_date_id",
+                "idx_transactions_user_category_date_id" }) {
+            assertEquals(1, count("SELECT COUNT(*) FROM information_schema.indexes WHERE LOWER(index_name) = ?",
+                    jdbcTemplate, index), index);
+        }
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT data_version FROM users WHERE id = 1", Long.class));
+    }
+
+    private static int count(String sql, JdbcTemplate jdbcTemplate, String name) {
+        return jdbcTemplate.queryForObject(sql, Integer.class, name);
+    }
+}
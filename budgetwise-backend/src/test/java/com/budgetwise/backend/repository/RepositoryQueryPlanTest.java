@@ -0,0 +1,217 @@
+package com.budgetwise.backend.repository;
+
+import com.budgetwise.backend.MigratedDataJpaTest;
+import com.budgetwise.backend.entity.Transaction;
+import com.budgetwise.backend.entity.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Runs every repository query against the Flyway-migrated schema on H2 and
+ * fails if the plan for any of them falls back to a full table scan.
+ */
+@MigratedDataJpaTest
+@Import(RepositoryQueryPlanTest.StatementCaptureConfig.class)
+class RepositoryQueryPlanTest {
+
+    private static final List<CapturedStatement> CAPTURED = new CopyOnWriteArrayList<>();
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private BudgetRepository budgetRepository;
+
+    @Autowired
+    private SavingsRepository savingsRepository;
+
+    @Autowired
+    private MonthlySummaryRepository monthlySummaryRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private User user;
+
+    @BeforeEach
+    void createUser() {
+        user = new User();
+        user.setClerkId("user_plans");
+        user.setName("Plan Checker");
+        user.setEmail("plans@example.com");
+        user = userRepository.saveAndFlush(user);
+    }
+
+    @Test
+    void repositoryQueriesUseIndexes() throws SQLException {
+        LocalDate from = LocalDate.of(2024, 1, 1);
+        LocalDate to = LocalDate.of(2024, 1, 31);
+        CAPTURED.clear();
+
+        userRepository.findByClerkId("user_plans");
+        userRepository.findByEmail("plans@example.com");
+        userRepository.existsByClerkId("user_plans");
+
+        transactionRepository.findByUser(user);
+        transactionRepository.findByUserId(user.getId());
+        transactionRepository.findByUserAndDateBetween(user, from, to);
+        transactionRepository.findByUserAndCategory(user, "Food");
+        transactionRepository.findAllByUserOrderByDateDesc(user);
+        try (var rows = transactionRepository.streamForExport(user.getId(), from, to, "Food")) {
+            rows.count();
+        }
+        transactionRepository.findPage(user.getId(), null, null, null, null, null, null, Limit.of(51));
+        transactionRepository.findPage(user.getId(), from, to, Transaction.TransactionType.EXPENSE, "Food", to, 10L,
+                Limit.of(51));
+
+        budgetRepository.findByUser(user);
+        budgetRepository.findByUserAndCategoryAndMonthAndYear(user, "Food", 1, 2024);
+
+        savingsRepository.findByUser(user);
+        savingsRepository.findByUserAndMonthAndYear(user, 1, 2024);
+
+        monthlySummaryRepository.findByUser(user);
+        monthlySummaryRepository.sumByMonthAndCategory(user, Transaction.TransactionType.EXPENSE);
+        monthlySummaryRepository.sumByMonthAndType(user);
+        monthlySummaryRepository.sumByType(user);
+        monthlySummaryRepository.sumByCategory(user, Transaction.TransactionType.EXPENSE);
+        monthlySummaryRepository.sumByTypeAndCategoryInMonth(user, 2024, 3);
+        monthlySummaryRepository.deleteEmptyBucket(user.getId(), 2024, 1, Transaction.TransactionType.EXPENSE,
+                "Food");
+
+        List<CapturedStatement> statements = new ArrayList<>(CAPTURED);
+        assertFalse(statements.isEmpty(), "No statements were captured");
+
+        try (Connection connection = dataSource.getConnection()) {
+            for (CapturedStatement statement : statements) {
+                String plan = explain(connection, statement);
+                assertFalse(plan.toLowerCase(Locale.ROOT).contains("tablescan"),
+                        () -> "Full table scan for:\n" + statement.sql() + "\nPlan:\n" + plan);
+            }
+        }
+    }
+
+    private static String explain(Connection connection, CapturedStatement statement) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement("EXPLAIN " + statement.sql())) {
+            for (Map.Entry<Integer, Object> parameter : statement.parameters().entrySet()) {
+                ps.setObject(parameter.getKey(), parameter.getValue());
+            }
+            StringBuilder plan = new StringBuilder();
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    plan.append(rs.getString(1)).append('\n');
+                }
+            }
+            return plan.toString();
+        }
+    }
+
+    private static boolean isExplainable(String sql) {
+        String head = sql.stripLeading().toLowerCase(Locale.ROOT);
+        return (head.startsWith("select") || head.startsWith("update") || head.startsWith("delete"))
+                && head.contains(" where ");
+    }
+
+    record CapturedStatement(String sql, Map<Integer, Object> parameters) {
+    }
+
+    /**
+     * Wraps the pool so every prepared statement's SQL and bound parameters are
+     * recorded when it executes.
+     */
+    @TestConfiguration
+    static class StatementCaptureConfig {
+
+        @Bean
+        static BeanPostProcessor statementCapturingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (bean instanceof DataSource dataSource && !(bean instanceof CapturingDataSource)) {
+                        return new CapturingDataSource(dataSource);
+                    }
+                    return bean;
+                }
+            };
+        }
+    }
+
+    static class CapturingDataSource extends DelegatingDataSource {
+
+        CapturingDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return wrap(super.getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return wrap(super.getConnection(username, password));
+        }
+
+        private static Connection wrap(Connection connection) {
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class<?>[] { Connection.class }, (proxy, method, args) -> {
+                        Object result = invoke(connection, method, args);
+                        if (method.getName().equals("prepareStatement") && result instanceof PreparedStatement ps) {
+                            return capture(ps, (String) args[0]);
+                        }
+                        return result;
+                    });
+        }
+
+        private static PreparedStatement capture(PreparedStatement statement, String sql) {
+            Map<Integer, Object> parameters = new TreeMap<>();
+            return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+                    new Class<?>[] { PreparedStatement.class }, (proxy, method, args) -> {
+                        String name = method.getName();
+                        if (name.startsWith("set") && args != null && args.length >= 2
+                                && args[0] instanceof Integer index) {
+                            parameters.put(index, name.equals("setNull") ? null : args[1]);
+                        } else if (name.startsWith("execute") && isExplainable(sql)) {
+                            CAPTURED.add(new CapturedStatement(sql, new TreeMap<>(parameters)));
+                        }
+                        return invoke(statement, method, args);
+                    });
+        }
+
+        private static Object invoke(Object target, java.lang.reflect.Method method, Object[] args)
+                throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
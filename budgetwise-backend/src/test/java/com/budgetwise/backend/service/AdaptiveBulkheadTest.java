@@ -0,0 +1,80 @@
+package com.budgetwise.backend.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdaptiveBulkheadTest {
+
+    @Test
+    void rejectsOnceLimitAndQueueAreFull() throws InterruptedException {
+        AdaptiveBulkhead bulkhead = bulkhead(2, 0, Duration.ofMillis(10));
+        assertTrue(bulkhead.tryAcquire());
+        assertTrue(bulkhead.tryAcquire());
+        assertFalse(bulkhead.tryAcquire());
+
+        bulkhead.release(false);
+        assertTrue(bulkhead.tryAcquire());
+    }
+
+    @Test
+    void queuedCallerGivesUpAtTheDeadline() throws InterruptedException {
+        AdaptiveBulkhead bulkhead = bulkhead(1, 5, Duration.ofMillis(50));
+        assertTrue(bulkhead.tryAcquire());
+
+        long start = System.nanoTime();
+        assertFalse(bulkhead.tryAcquire());
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(50));
+    }
+
+    @Test
+    void queuedCallerGetsTheReleasedPermit() throws Exception {
+        AdaptiveBulkhead bulkhead = bulkhead(1, 5, Duration.ofSeconds(5));
+        assertTrue(bulkhead.tryAcquire());
+
+        CompletableFuture<Boolean> waiter = CompletableFuture.supplyAsync(() -> {
+            try {
+                return bulkhead.tryAcquire();
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        Thread.sleep(50);
+        bulkhead.release(false);
+        assertTrue(waiter.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void rateLimitHalvesTheLimitAndSuccessesRegrowIt() throws InterruptedException {
+        AdaptiveBulkhead bulkhead = bulkhead(8, 0, Duration.ZERO);
+        assertTrue(bulkhead.tryAcquire());
+        bulkhead.release(true);
+        assertEquals(4, bulkhead.currentLimit());
+
+        assertTrue(bulkhead.tryAcquire());
+        bulkhead.release(true);
+        assertTrue(bulkhead.tryAcquire());
+        bulkhead.release(true);
+        assertTrue(bulkhead.tryAcquire());
+        bulkhead.release(true);
+        assertEquals(1, bulkhead.currentLimit());
+
+        // Additive increase: roughly one permit per 'limit' successes
+        for (int i = 0; i < 10; i++) {
+            assertTrue(bulkhead.tryAcquire());
+            bulkhead.release(false);
+        }
+        assertEquals(4, bulkhead.currentLimit());
+    }
+
+    private static AdaptiveBulkhead bulkhead(int limit, int queue, Duration timeout) {
+        return new AdaptiveBulkhead("test", limit, queue, timeout, new SimpleMeterRegistry());
+    }
+}
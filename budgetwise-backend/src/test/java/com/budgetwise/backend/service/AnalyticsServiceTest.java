@@ -0,0 +1,205 @@
+package com.budgetwise.backend.service;
+
+import com.budgetwise.backend.MigratedDataJpaTest;
+import com.budgetwise.backend.dto.AnalyticsDTO;
+import com.budgetwise.backend.dto.MonthlyTotalsDTO;
+import com.budgetwise.backend.dto.TransactionDTO;
+import com.budgetwise.backend.entity.Transaction;
+import com.budgetwise.backend.entity.User;
+import com.budgetwise.backend.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@MigratedDataJpaTest
+@RecordApplicationEvents
+class AnalyticsServiceTest {
+
+    private static final String[] CATEGORIES = { "Food", "Rent", "Travel", "Shopping", "Bills" };
+    private static final LocalDate TO = LocalDate.of(2025, 6, 15);
+
+    @Autowired
+    private AnalyticsService analyticsService;
+
+    @Autowired
+    private DataVersionService dataVersionService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    private String clerkId;
+    private final List<TransactionDTO> added = new ArrayList<>();
+
+    @BeforeEach
+    void createUser() {
+        clerkId = "user_" + UUID.randomUUID();
+        User user = new User();
+        user.setClerkId(clerkId);
+        user.setName("Analytics Tester");
+        user.setEmail(clerkId + "@example.com");
+        userRepository.saveAndFlush(user);
+    }
+
+    @Test
+    void rangeTotalsAndMonthlySeriesMatchAFoldOverTransactions() {
+        Random random = new Random(42);
+        for (int i = 0; i < 250; i++) {
+            boolean income = random.nextInt(8) == 0;
+            add(income ? "Salary" : CATEGORIES[random.nextInt(CATEGORIES.length)], income,
+                    BigDecimal.valueOf(1 + random.nextInt(1_000_000), 2), TO.minusDays(random.nextInt(500)));
+        }
+
+        for (LocalDate from : List.of(TO.minusDays(89), LocalDate.of(2025, 1, 1), LocalDate.of(2024, 4, 1))) {
+            AnalyticsDTO analytics = analyticsService.getAnalytics(dataVersionService.current(clerkId), from, TO, 12);
+            assertRange(from, TO, analytics);
+        }
+        AnalyticsDTO series = analyticsService.getAnalytics(dataVersionService.current(clerkId), null, TO, 18);
+        assertEquals(18, series.getMonthly().size());
+        for (MonthlyTotalsDTO month : series.getMonthly()) {
+            YearMonth ym = YearMonth.of(month.getYear(), month.getMonth());
+            assertEquals(fold(ym.atDay(1), ym.atEndOfMonth(), true), month.getIncome());
+            assertEquals(fold(ym.atDay(1), ym.atEndOfMonth(), false), month.getExpense());
+        }
+        assertEquals(YearMonth.from(TO), YearMonth.of(series.getMonthly().get(17).getYear(),
+                series.getMonthly().get(17).getMonth()));
+    }
+
+    @Test
+    void committedCreatesAndDeletesAreAppliedInPlace() {
+        add("Food", false, new BigDecimal("40.00"), TO.minusDays(3));
+        analyticsService.getAnalytics(dataVersionService.current(clerkId), null, TO, 1);
+
+        TransactionDTO created = add("Rent", false, new BigDecimal("900.00"), TO.minusDays(1));
+        transactionService.deleteTransaction(added.get(0).getId());
+        added.remove(0);
+        // What the after-commit listener receives once the writers' transactions commit
+        events.stream(TransactionChangedEvent.class).forEach(analyticsService::onTransactionChanged);
+        // A row the index never hears about: it must not show up, proving there was no reload
+        sneakIn(TO.minusDays(2));
+
+        AnalyticsDTO analytics = analyticsService.getAnalytics(dataVersionService.current(clerkId), null, TO, 1);
+        assertEquals(Map.of("Rent", created.getAmount()), analytics.getExpenseByCategory());
+        assertEquals(new BigDecimal("900.00"), analytics.getTotalExpense());
+    }
+
+    @Test
+    void caseVariantsOfACategoryStayApartWhetherLoadedOrAppliedInPlace() {
+        add("Food", false, new BigDecimal("10.00"), TO.minusDays(3));
+        add("food", false, new BigDecimal("20.00"), TO.minusDays(3));
+        add("FOOD", false, new BigDecimal("40.00"), TO.minusDays(2));
+        Map<String, BigDecimal> expected = Map.of("Food", new BigDecimal("10.00"), "food",
+                new BigDecimal("20.00"), "FOOD", new BigDecimal("40.00"));
+        assertEquals(expected, analyticsService.getAnalytics(dataVersionService.current(clerkId), null, TO, 1)
+                .getExpenseByCategory());
+
+        add("food", false, new BigDecimal("5.00"), TO.minusDays(1));
+        events.stream(TransactionChangedEvent.class).forEach(analyticsService::onTransactionChanged);
+        Map<String, BigDecimal> applied = analyticsService
+                .getAnalytics(dataVersionService.current(clerkId), null, TO, 1).getExpenseByCategory();
+
+        // A reload from the database must give the same keys as the in-place update did
+        Long userId = userRepository.findByClerkId(clerkId).orElseThrow().getId();
+        dataVersionService.onUserDataChanged(new UserDataChangedEvent(userId));
+        assertEquals(applied, analyticsService.getAnalytics(dataVersionService.current(clerkId), null, TO, 1)
+                .getExpenseByCategory());
+        assertEquals(new BigDecimal("25.00"), applied.get("food"));
+        assertEquals(3, applied.size());
+    }
+
+    @Test
+    void invalidMonthsOrRangeAreBadRequests() {
+        DataVersion version = dataVersionService.current(clerkId);
+        for (int months : new int[] { 0, AnalyticsService.MAX_MONTHS + 1 }) {
+            assertEquals(HttpStatus.BAD_REQUEST, assertThrows(ResponseStatusException.class,
+                    () -> analyticsService.getAnalytics(version, null, TO, months)).getStatusCode());
+        }
+        assertEquals(HttpStatus.BAD_REQUEST, assertThrows(ResponseStatusException.class,
+                () -> analyticsService.getAnalytics(version, TO.plusDays(1), TO, 12)).getStatusCode());
+    }
+
+    @Test
+    void changesWithoutAnEventReloadTheIndex() {
+        add("Food", false, new BigDecimal("40.00"), TO.minusDays(3));
+        analyticsService.getAnalytics(dataVersionService.current(clerkId), null, TO, 1);
+
+        // Like an import or a group commit: written directly, with only the data version moving
+        sneakIn(TO.minusDays(2));
+        Long userId = userRepository.findByClerkId(clerkId).orElseThrow().getId();
+        dataVersionService.onUserDataChanged(new UserDataChangedEvent(userId));
+
+        AnalyticsDTO analytics = analyticsService.getAnalytics(dataVersionService.current(clerkId), null, TO, 1);
+        assertEquals(new BigDecimal("45.00"), analytics.getTotalExpense());
+    }
+
+    private void assertRange(LocalDate from, LocalDate to, AnalyticsDTO analytics) {
+        assertEquals(fold(from, to, true), analytics.getTotalIncome());
+        assertEquals(fold(from, to, false), analytics.getTotalExpense());
+        Map<String, BigDecimal> byCategory = new HashMap<>();
+        for (TransactionDTO t : added) {
+            if (t.getType() == Transaction.TransactionType.EXPENSE && !t.getDate().isBefore(from)
+                    && !t.getDate().isAfter(to)) {
+                byCategory.merge(t.getCategory(), t.getAmount(), BigDecimal::add);
+            }
+        }
+        assertEquals(byCategory, analytics.getExpenseByCategory());
+    }
+
+    private BigDecimal fold(LocalDate from, LocalDate to, boolean income) {
+        BigDecimal total = new BigDecimal("0.00");
+        for (TransactionDTO t : added) {
+            if ((t.getType() == Transaction.TransactionType.INCOME) == income && !t.getDate().isBefore(from)
+                    && !t.getDate().isAfter(to)) {
+                total = total.add(t.getAmount());
+            }
+        }
+        return total;
+    }
+
+    private void sneakIn(LocalDate date) {
+        Long userId = userRepository.findByClerkId(clerkId).orElseThrow().getId();
+        jdbcTemplate.update(TransactionImportService.INSERT_SQL, userId, "EXPENSE", "Food", new BigDecimal("5.00"),
+                new BigDecimal("5.00"), "INR", BigDecimal.ONE, Date.valueOf(date), "not recorded");
+    }
+
+    private TransactionDTO add(String category, boolean income, BigDecimal amount, LocalDate date) {
+        TransactionDTO dto = new TransactionDTO();
+        dto.setType(income ? Transaction.TransactionType.INCOME : Transaction.TransactionType.EXPENSE);
+        dto.setCategory(category);
+        dto.setAmount(amount);
+        dto.setOriginalCurrency("INR");
+        dto.setDate(date);
+        TransactionDTO saved = transactionService.createTransaction(clerkId, dto);
+        saved.setAmount(saved.getAmount().setScale(2, RoundingMode.HALF_UP)); // as the column stores it
+        added.add(saved);
+        return saved;
+    }
+}
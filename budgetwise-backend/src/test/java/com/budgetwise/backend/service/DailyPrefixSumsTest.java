@@ -0,0 +1,48 @@
+package com.budgetwise.backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class DailyPrefixSumsTest {
+
+    @Test
+    void emptySeriesSumsToZero() {
+        assertEquals(0, new DailyPrefixSums().sum(-10, 10));
+    }
+
+    @Test
+    void rangeSumsMatchABruteForceFoldInAnyInsertOrder() {
+        Random random = new Random(11);
+        for (int run = 0; run < 50; run++) {
+            DailyPrefixSums sums = new DailyPrefixSums();
+            long[] daily = new long[400];
+            for (int i = 0; i < 300; i++) {
+                // Mostly appended in date order, with back-dated and negative (deleted) amounts mixed in
+                int day = random.nextInt(4) == 0 ? random.nextInt(daily.length) : Math.min(i, daily.length - 1);
+                long amount = random.nextInt(5) == 0 ? -random.nextInt(10_000) : random.nextInt(1_000_000);
+                sums.add(day + 20_000, amount);
+                daily[day] += amount;
+            }
+            for (int check = 0; check < 100; check++) {
+                int from = random.nextInt(daily.length + 20) - 10;
+                int to = from + random.nextInt(daily.length);
+                long expected = 0;
+                for (int day = Math.max(0, from); day <= Math.min(to, daily.length - 1); day++) {
+                    expected += daily[day];
+                }
+                assertEquals(expected, sums.sum(from + 20_000, to + 20_000));
+            }
+        }
+    }
+
+    @Test
+    void invertedRangeIsEmpty() {
+        DailyPrefixSums sums = new DailyPrefixSums();
+        sums.add(5, 100);
+        assertEquals(0, sums.sum(6, 4));
+        assertEquals(100, sums.sum(5, 5));
+    }
+}
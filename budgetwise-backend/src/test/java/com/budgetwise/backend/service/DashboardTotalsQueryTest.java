@@ -0,0 +1,206 @@
+package com.budgetwise.backend.service;
+
+import com.budgetwise.backend.MigratedDataJpaTest;
+import com.budgetwise.backend.dto.DashboardDTO;
+import com.budgetwise.backend.dto.TransactionDTO;
+import com.budgetwise.backend.entity.Transaction;
+import com.budgetwise.backend.entity.User;
+import com.budgetwise.backend.repository.MonthlySummaryRepository;
+import com.budgetwise.backend.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@MigratedDataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class DashboardTotalsQueryTest {
+
+    private static final String[] CATEGORIES = { "Food", "Rent", "Travel", "Shopping", "Bills" };
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private MonthlySummaryRepository monthlySummaryRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private String clerkId;
+    private final List<TransactionDTO> added = new ArrayList<>();
+
+    @BeforeEach
+    void createUser() {
+        clerkId = "user_" + UUID.randomUUID();
+        User user = new User();
+        user.setClerkId(clerkId);
+        user.setName("Dashboard Tester");
+        user.setEmail(clerkId + "@example.com");
+        userRepository.save(user);
+    }
+
+    @Test
+    void totalsMatchFoldOverTransactionsWithoutLoadingEntities() {
+        LocalDate today = LocalDate.now();
+        Random random = new Random(42);
+        for (int i = 0; i < 300; i++) {
+            boolean income = random.nextInt(8) == 0;
+            String category = income ? "Salary" : CATEGORIES[random.nextInt(CATEGORIES.length)];
+            add(income ? Transaction.TransactionType.INCOME : Transaction.TransactionType.EXPENSE, category,
+                    BigDecimal.valueOf(1 + random.nextInt(1_000_000), 2), today.minusDays(random.nextInt(120)));
+        }
+
+        User user = userRepository.findByClerkId(clerkId).orElseThrow();
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.clear();
+
+        DashboardDTO dashboard = DashboardService.aggregate(monthlySummaryRepository.sumByType(user),
+                monthlySummaryRepository.sumByCategory(user, Transaction.TransactionType.EXPENSE),
+                monthlySummaryRepository.sumByTypeAndCategoryInMonth(user, today.getYear(), today.getMonthValue()));
+
+        assertEquals(0, statistics.getEntityLoadCount());
+        // equals on the DTO compares BigDecimals with their scale
+        assertEquals(foldOverTransactions(today), dashboard);
+    }
+
+    @Test
+    void categoriesThatDifferOnlyInCaseStaySeparate() {
+        LocalDate today = LocalDate.now();
+        LocalDate lastMonth = today.minusMonths(1);
+        add(Transaction.TransactionType.EXPENSE, "Food", new BigDecimal("10.00"), today);
+        add(Transaction.TransactionType.EXPENSE, "food", new BigDecimal("20.00"), lastMonth);
+        add(Transaction.TransactionType.EXPENSE, "FOOD", new BigDecimal("40.00"), lastMonth);
+
+        User user = userRepository.findByClerkId(clerkId).orElseThrow();
+        entityManager.flush();
+        DashboardDTO dashboard = DashboardService.aggregate(monthlySummaryRepository.sumByType(user),
+                monthlySummaryRepository.sumByCategory(user, Transaction.TransactionType.EXPENSE),
+                monthlySummaryRepository.sumByTypeAndCategoryInMonth(user, today.getYear(), today.getMonthValue()));
+
+        assertEquals(Map.of("Food", new BigDecimal("10.00"), "food", new BigDecimal("20.00"),
+                "FOOD", new BigDecimal("40.00")), dashboard.getExpenseByCategory());
+        assertEquals(foldOverTransactions(today), dashboard);
+    }
+
+    @Test
+    void caseVariantsInTheCurrentMonthStaySeparate() {
+        LocalDate today = LocalDate.now();
+        add(Transaction.TransactionType.EXPENSE, "Food", new BigDecimal("10.00"), today);
+        add(Transaction.TransactionType.EXPENSE, "food", new BigDecimal("20.00"), today);
+        add(Transaction.TransactionType.EXPENSE, "FOOD", new BigDecimal("40.00"), today);
+
+        DashboardDTO dashboard = dashboard(today);
+
+        Map<String, BigDecimal> expected = Map.of("Food", new BigDecimal("10.00"), "food", new BigDecimal("20.00"),
+                "FOOD", new BigDecimal("40.00"));
+        assertEquals(expected, dashboard.getExpenseByCategory());
+        assertEquals(expected, dashboard.getMonthlyExpenseByCategory());
+        assertEquals(foldOverTransactions(today), dashboard);
+    }
+
+    // MySQL's default collation also folds accents, so "Cafe" and "Café" would share a bucket there without
+    // the binary category column. H2 always compares accents apart, so on this database the test passes
+    // either way; it pins the expected result, and the case test above is the one that catches a regression
+    @Test
+    void accentVariantsInTheCurrentMonthStaySeparate() {
+        LocalDate today = LocalDate.now();
+        add(Transaction.TransactionType.EXPENSE, "Cafe", new BigDecimal("5.00"), today);
+        add(Transaction.TransactionType.EXPENSE, "Café", new BigDecimal("7.00"), today);
+
+        DashboardDTO dashboard = dashboard(today);
+
+        Map<String, BigDecimal> expected = Map.of("Cafe", new BigDecimal("5.00"), "Café", new BigDecimal("7.00"));
+        assertEquals(expected, dashboard.getExpenseByCategory());
+        assertEquals(expected, dashboard.getMonthlyExpenseByCategory());
+        assertEquals(foldOverTransactions(today), dashboard);
+    }
+
+    @Test
+    void emptyHistoryGivesZeroTotals() {
+        User user = userRepository.findByClerkId(clerkId).orElseThrow();
+        LocalDate today = LocalDate.now();
+
+        DashboardDTO dashboard = DashboardService.aggregate(monthlySummaryRepository.sumByType(user),
+                monthlySummaryRepository.sumByCategory(user, Transaction.TransactionType.EXPENSE),
+                monthlySummaryRepository.sumByTypeAndCategoryInMonth(user, today.getYear(), today.getMonthValue()));
+
+        assertEquals(foldOverTransactions(today), dashboard);
+    }
+
+    private DashboardDTO dashboard(LocalDate today) {
+        User user = userRepository.findByClerkId(clerkId).orElseThrow();
+        entityManager.flush();
+        return DashboardService.aggregate(monthlySummaryRepository.sumByType(user),
+                monthlySummaryRepository.sumByCategory(user, Transaction.TransactionType.EXPENSE),
+                monthlySummaryRepository.sumByTypeAndCategoryInMonth(user, today.getYear(), today.getMonthValue()));
+    }
+
+    // The dashboard as it was computed from Transaction entities before the rollup
+    private DashboardDTO foldOverTransactions(LocalDate today) {
+        BigDecimal income = BigDecimal.ZERO;
+        BigDecimal expense = BigDecimal.ZERO;
+        BigDecimal monthIncome = BigDecimal.ZERO;
+        BigDecimal monthExpense = BigDecimal.ZERO;
+        Map<String, BigDecimal> byCategory = new HashMap<>();
+        Map<String, BigDecimal> monthByCategory = new HashMap<>();
+        for (TransactionDTO t : added) {
+            boolean currentMonth = t.getDate().getYear() == today.getYear()
+                    && t.getDate().getMonthValue() == today.getMonthValue();
+            if (t.getType() == Transaction.TransactionType.INCOME) {
+                income = income.add(t.getAmount());
+                if (currentMonth) {
+                    monthIncome = monthIncome.add(t.getAmount());
+                }
+            } else {
+                expense = expense.add(t.getAmount());
+                byCategory.merge(t.getCategory(), t.getAmount(), BigDecimal::add);
+                if (currentMonth) {
+                    monthExpense = monthExpense.add(t.getAmount());
+                    monthByCategory.merge(t.getCategory(), t.getAmount(), BigDecimal::add);
+                }
+            }
+        }
+        DashboardDTO dto = new DashboardDTO();
+        dto.setTotalIncome(income);
+        dto.setTotalExpense(expense);
+        dto.setBalance(income.subtract(expense));
+        dto.setExpenseByCategory(byCategory);
+        dto.setMonthlyIncome(monthIncome);
+        dto.setMonthlyExpense(monthExpense);
+        dto.setMonthlyBalance(monthIncome.subtract(monthExpense));
+        dto.setMonthlyExpenseByCategory(monthByCategory);
+        return dto;
+    }
+
+    private void add(Transaction.TransactionType type, String category, BigDecimal amount, LocalDate date) {
+        TransactionDTO dto = new TransactionDTO();
+        dto.setType(type);
+        dto.setCategory(category);
+        dto.setAmount(amount);
+        dto.setOriginalCurrency("INR");
+        dto.setDate(date);
+        transactionService.createTransaction(clerkId, dto);
+        added.add(dto);
+    }
+}
@@ -0,0 +1,114 @@
+package com.budgetwise.backend.service;
+
+import com.budgetwise.backend.MigratedDataJpaTest;
+import com.budgetwise.backend.dto.BudgetDTO;
+import com.budgetwise.backend.dto.SavingsDTO;
+import com.budgetwise.backend.dto.TransactionDTO;
+import com.budgetwise.backend.entity.Transaction;
+import com.budgetwise.backend.entity.User;
+import com.budgetwise.backend.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+@MigratedDataJpaTest
+@Import({ BudgetService.class, SavingsService.class })
+class DataVersionTest {
+
+    @Autowired
+    private DataVersionService dataVersionService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private BudgetService budgetService;
+
+    @Autowired
+    private SavingsService savingsService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private String clerkId;
+
+    @BeforeEach
+    void createUser() {
+        clerkId = "user_" + UUID.randomUUID();
+        User user = new User();
+        user.setClerkId(clerkId);
+        user.setName("Version Tester");
+        user.setEmail(clerkId + "@example.com");
+        userRepository.saveAndFlush(user);
+    }
+
+    @Test
+    void everyMutationMovesTheVersionForward() {
+        long start = dataVersionService.current(clerkId).version();
+
+        TransactionDTO transaction = transactionService.createTransaction(clerkId, expense("12.50"));
+        assertEquals(start + 1, dataVersionService.current(clerkId).version());
+
+        BudgetDTO budget = new BudgetDTO();
+        budget.setCategory("Food");
+        budget.setLimitAmount(new BigDecimal("100.00"));
+        budgetService.createBudget(clerkId, budget);
+        assertEquals(start + 2, dataVersionService.current(clerkId).version());
+
+        SavingsDTO savings = new SavingsDTO();
+        savings.setTargetAmount(new BigDecimal("500.00"));
+        savingsService.createOrUpdateSavings(clerkId, savings);
+        assertEquals(start + 3, dataVersionService.current(clerkId).version());
+
+        transactionService.deleteTransaction(transaction.getId());
+        assertEquals(start + 4, dataVersionService.current(clerkId).version());
+    }
+
+    @Test
+    void savingTheUserEntityKeepsTheVersion() {
+        User user = userService.getUserByClerkId(clerkId);
+        transactionService.createTransaction(clerkId, expense("1.00"));
+        DataVersion before = dataVersionService.current(clerkId);
+
+        // The managed entity still holds the version it was loaded with
+        user.setName("Renamed");
+        userService.saveUser(user);
+        entityManager.flush();
+
+        assertEquals(before, dataVersionService.current(clerkId));
+    }
+
+    @Test
+    void etagsDifferAcrossUsersAndDays() {
+        DataVersion version = dataVersionService.current(clerkId);
+        DataVersion otherUser = new DataVersion(version.userId() + 1, version.version());
+
+        assertNotEquals(version.etag(), otherUser.etag());
+        assertNotEquals(version.etag(LocalDate.of(2024, 3, 1)), version.etag(LocalDate.of(2024, 3, 2)));
+    }
+
+    private static TransactionDTO expense(String amount) {
+        TransactionDTO dto = new TransactionDTO();
+        dto.setType(Transaction.TransactionType.EXPENSE);
+        dto.setCategory("Food");
+        dto.setAmount(new BigDecimal(amount));
+        dto.setOriginalCurrency("INR");
+        dto.setDate(LocalDate.now());
+        return dto;
+    }
+}
@@ -0,0 +1,120 @@
+package com.budgetwise.backend.service;
+
+import com.budgetwise.backend.MigratedDataJpaTest;
+import com.budgetwise.backend.dto.TransactionDTO;
+import com.budgetwise.backend.entity.Transaction;
+import com.budgetwise.backend.entity.User;
+import com.budgetwise.backend.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@MigratedDataJpaTest(properties = {
+        "currency.rates.cache-dir=${java.io.tmpdir}/budgetwise-rates-history-test"
+})
+class ExchangeRateHistoryTest {
+
+    private static final String SEED = """
+            date,base,quote,rate
+            2024-01-02,USD,INR,83.25
+            2024-01-05,USD,INR,83.10
+            2024-01-08,usd,inr,82.90
+            2024-01-05,INR,EUR,0.011
+            not-a-date,USD,INR,80
+            """;
+
+    @Autowired
+    private ExchangeRateHistoryService rateHistory;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private CurrencyService currencyService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Value("${currency.rates.cache-dir}")
+    private Path cacheDir;
+
+    @BeforeEach
+    void seed() throws IOException {
+        assertEquals(4, rateHistory.seed(new ByteArrayInputStream(SEED.getBytes(StandardCharsets.UTF_8))));
+    }
+
+    @Test
+    void todayConvertsAtTheLiveRateAndOnlyBackDatedDatesUseTheHistory() throws IOException {
+        LocalDate today = LocalDate.now();
+        String recent = "date,base,quote,rate\n" + today.minusDays(3) + ",USD,INR,83.50\n";
+        rateHistory.seed(new ByteArrayInputStream(recent.getBytes(StandardCharsets.UTF_8)));
+        // The live table as a previous run left it on disk, fetched just now
+        Files.createDirectories(cacheDir);
+        Files.writeString(cacheDir.resolve("rates-USD.properties"),
+                "INR=84.00\n_fetchedAt=" + System.currentTimeMillis() + "\n");
+
+        // A recorded rate three days old would be within max-staleness, but today has a live rate
+        assertRate("84.00", currencyService.getExchangeRate("USD", "INR", today));
+        assertRate("84.00", currencyService.getExchangeRate("USD", "INR", null));
+        assertRate("83.50", currencyService.getExchangeRate("USD", "INR", today.minusDays(1)));
+    }
+
+    @Test
+    void looksUpTheRateInEffectOnEachDate() {
+        assertTrue(rateHistory.findRate("USD", "INR", LocalDate.of(2024, 1, 1)).isEmpty());
+        assertRate("83.25", rateHistory.findRate("USD", "INR", LocalDate.of(2024, 1, 2)).orElseThrow().rate());
+        assertRate("83.25", rateHistory.findRate("USD", "INR", LocalDate.of(2024, 1, 4)).orElseThrow().rate());
+        assertRate("83.10", rateHistory.findRate("usd", "inr", LocalDate.of(2024, 1, 5)).orElseThrow().rate());
+        assertRate("82.90", rateHistory.findRate("USD", "INR", LocalDate.of(2024, 3, 1)).orElseThrow().rate());
+    }
+
+    @Test
+    void invertsTheReversePair() {
+        BigDecimal rate = rateHistory.findRate("EUR", "INR", LocalDate.of(2024, 1, 6)).orElseThrow().rate();
+        assertRate("90.90909091", rate.setScale(8, RoundingMode.HALF_UP));
+    }
+
+    @Test
+    void reloadReadsBackWhatWasStored() {
+        rateHistory.reload();
+        assertRate("83.10", rateHistory.findRate("USD", "INR", LocalDate.of(2024, 1, 6)).orElseThrow().rate());
+    }
+
+    @Test
+    void backDatedTransactionsConvertAtTheirOwnDate() {
+        User user = new User();
+        user.setClerkId("user_rates");
+        user.setName("Rate Tester");
+        user.setEmail("rates@example.com");
+        userRepository.saveAndFlush(user);
+
+        TransactionDTO dto = new TransactionDTO();
+        dto.setType(Transaction.TransactionType.EXPENSE);
+        dto.setCategory("Travel");
+        dto.setOriginalAmount(new BigDecimal("10.00"));
+        dto.setOriginalCurrency("USD");
+        dto.setDate(LocalDate.of(2024, 1, 6));
+
+        TransactionDTO saved = transactionService.createTransaction("user_rates", dto);
+
+        assertRate("83.10", saved.getConversionRate());
+        assertRate("831.00", saved.getAmount());
+    }
+
+    private static void assertRate(String expected, BigDecimal actual) {
+        assertEquals(0, new BigDecimal(expected).compareTo(actual), () -> "expected " + expected + " but was " + actual);
+    }
+}
@@ -0,0 +1,24 @@
+package com.budgetwise.backend.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ExportServiceTest {
+
+    @Test
+    void aRangeEndingBeforeItStartsIsABadRequest() {
+        // Rejected before the user is resolved or anything is read
+        ExportService exportService = new ExportService(null, null, null, null);
+        LocalDate to = LocalDate.of(2025, 3, 1);
+
+        ResponseStatusException e = assertThrows(ResponseStatusException.class,
+                () -> exportService.exportTransactionsToCSV("user_export", to.plusDays(1), to, null));
+        assertEquals(HttpStatus.BAD_REQUEST, e.getStatusCode());
+    }
+}
@@ -0,0 +1,272 @@
+package com.budgetwise.backend.service;
+
+import com.budgetwise.backend.MigratedDataJpaTest;
+import com.budgetwise.backend.dto.TransactionDTO;
+import com.budgetwise.backend.entity.Transaction;
+import com.budgetwise.backend.entity.User;
+import com.budgetwise.backend.exception.ServiceOverloadedException;
+import com.budgetwise.backend.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@MigratedDataJpaTest
+// The writer commits on its own thread; the test must see what it committed
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class GroupCommitTransactionWriterTest {
+
+    private static final Duration LONG = Duration.ofSeconds(30);
+
+    @Autowired
+    private CurrentUserResolver currentUserResolver;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private MonthlySummaryService monthlySummaryService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor();
+    // One UserDataChangedEvent per user per committed batch, so this counts batches
+    private final List<Object> batches = new CopyOnWriteArrayList<>();
+    private final CountDownLatch writing = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private GroupCommitTransactionWriter writer;
+    private String clerkId;
+    private User user;
+
+    @BeforeEach
+    void createUser() {
+        clerkId = "user_" + UUID.randomUUID();
+        user = new User();
+        user.setClerkId(clerkId);
+        user.setName("Group Commit Tester");
+        user.setEmail(clerkId + "@example.com");
+        user = userRepository.save(user);
+    }
+
+    @AfterEach
+    void stop() throws InterruptedException {
+        release.countDown();
+        callers.shutdownNow();
+        if (writer != null) {
+            writer.shutdown();
+        }
+    }
+
+    @Test
+    void aFullBatchCommitsWithoutWaitingForTheDelay() throws Exception {
+        writer = writer(4, LONG, 100, LONG, batches::add);
+
+        long start = System.nanoTime();
+        List<TransactionDTO> created = await(submit(4, "10.00"));
+
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(10));
+        assertEquals(1, batches.size());
+        assertEquals(4, created.stream().map(TransactionDTO::getId).distinct().count());
+        assertEquals(4, rows());
+        assertEquals(0, new BigDecimal("40.00").compareTo(rollup()));
+    }
+
+    @Test
+    void aPartialBatchCommitsOnceTheDelayRunsOut() throws Exception {
+        Duration maxDelay = Duration.ofMillis(300);
+        writer = writer(100, maxDelay, 100, LONG, batches::add);
+
+        long start = System.nanoTime();
+        List<TransactionDTO> created = await(submit(3, "10.00"));
+
+        assertTrue(System.nanoTime() - start >= maxDelay.toNanos());
+        assertEquals(1, batches.size());
+        assertEquals(3, created.size());
+        assertEquals(3, rows());
+    }
+
+    @Test
+    void aFullQueueIsRefusedWith503() throws Exception {
+        writer = writer(1, Duration.ZERO, 1, LONG, stalling());
+        Future<TransactionDTO> writing = submit(1, "10.00").get(0);
+        this.writing.await(10, TimeUnit.SECONDS);
+        Future<TransactionDTO> queued = submit(1, "20.00").get(0);
+        Thread.sleep(200); // until it sits in the one queue slot
+
+        assertThrows(ServiceOverloadedException.class, () -> writer.createTransaction(clerkId, request("30.00")));
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE,
+                ServiceOverloadedException.class.getAnnotation(ResponseStatus.class).value());
+
+        release.countDown();
+        assertNotNull(writing.get(10, TimeUnit.SECONDS).getId());
+        assertNotNull(queued.get(10, TimeUnit.SECONDS).getId());
+        assertEquals(2, rows());
+    }
+
+    @Test
+    void callersStopWaitingAfterTheCommitTimeoutAndWithdrawnRowsAreNotWritten() throws Exception {
+        writer = writer(1, Duration.ZERO, 10, Duration.ofMillis(300), stalling());
+        Future<TransactionDTO> writing = submit(1, "10.00").get(0);
+        this.writing.await(10, TimeUnit.SECONDS);
+        Future<TransactionDTO> queued = submit(1, "20.00").get(0);
+
+        assertInstanceOf(ServiceOverloadedException.class, failure(queued));
+        // Its batch was already being written, so this one is refused but still commits
+        assertInstanceOf(ServiceOverloadedException.class, failure(writing));
+
+        release.countDown();
+        writer.shutdown();
+        assertEquals(0, new BigDecimal("10.00").compareTo(rollup()));
+        assertEquals(1, rows());
+    }
+
+    @Test
+    void oneBadRowIsRetriedAloneAndItsNeighboursCommit() throws Exception {
+        writer = writer(3, LONG, 100, LONG, batches::add);
+        List<Future<TransactionDTO>> futures = new ArrayList<>(submit(2, "10.00"));
+        // More than DECIMAL(38, 2) can hold, so the batch's insert fails
+        futures.add(1, submit(1, "1E+40").get(0));
+
+        assertNotNull(futures.get(0).get(10, TimeUnit.SECONDS).getId());
+        assertInstanceOf(DataAccessException.class, failure(futures.get(1)));
+        assertNotNull(futures.get(2).get(10, TimeUnit.SECONDS).getId());
+        // The batch of three rolled back whole, then each row was committed as a batch of its own
+        assertEquals(2, batches.size());
+        assertEquals(2, rows());
+        assertEquals(0, new BigDecimal("20.00").compareTo(rollup()));
+    }
+
+    @Test
+    void theWriterSurvivesAnErrorInOneBatch() throws Exception {
+        writer = writer(1, Duration.ZERO, 10, LONG, event -> {
+            if (batches.isEmpty()) {
+                batches.add(event);
+                throw new AssertionError("boom");
+            }
+        });
+
+        Throwable failure = failure(submit(1, "10.00").get(0));
+        assertInstanceOf(IllegalStateException.class, failure);
+        assertInstanceOf(AssertionError.class, failure.getCause());
+        assertNotNull(writer.createTransaction(clerkId, request("20.00")).getId());
+        assertEquals(0, new BigDecimal("20.00").compareTo(rollup()));
+    }
+
+    @Test
+    void shutdownCommitsWhatIsQueuedBeforeStopping() throws Exception {
+        writer = writer(1, Duration.ZERO, 10, LONG, stalling());
+        List<Future<TransactionDTO>> futures = new ArrayList<>(submit(1, "10.00"));
+        writing.await(10, TimeUnit.SECONDS);
+        futures.addAll(submit(2, "20.00"));
+        Thread.sleep(200); // until both are queued behind the stalled batch
+
+        Future<?> shutdown = callers.submit(() -> {
+            writer.shutdown();
+            return null;
+        });
+        release.countDown();
+        shutdown.get(20, TimeUnit.SECONDS);
+
+        for (Future<TransactionDTO> future : futures) {
+            assertNotNull(future.get(10, TimeUnit.SECONDS).getId());
+        }
+        assertEquals(3, rows());
+        // Once stopped, creates go straight to the database
+        assertNotNull(writer.createTransaction(clerkId, request("5.00")).getId());
+        assertEquals(4, rows());
+    }
+
+    private GroupCommitTransactionWriter writer(int batchSize, Duration maxDelay, int queueCapacity,
+            Duration commitTimeout, ApplicationEventPublisher eventPublisher) {
+        return new GroupCommitTransactionWriter(currentUserResolver, transactionService, monthlySummaryService,
+                jdbcTemplate, transactionManager, eventPublisher, true, batchSize, maxDelay, queueCapacity,
+                Duration.ofMillis(50), commitTimeout);
+    }
+
+    // Holds the writer inside its first batch's transaction until release
+    private ApplicationEventPublisher stalling() {
+        return event -> {
+            writing.countDown();
+            try {
+                release.await(20, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+    }
+
+    private List<Future<TransactionDTO>> submit(int count, String amount) {
+        List<Future<TransactionDTO>> futures = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            futures.add(callers.submit(() -> writer.createTransaction(clerkId, request(amount))));
+        }
+        return futures;
+    }
+
+    private static List<TransactionDTO> await(List<Future<TransactionDTO>> futures) throws Exception {
+        List<TransactionDTO> created = new ArrayList<>();
+        for (Future<TransactionDTO> future : futures) {
+            created.add(future.get(20, TimeUnit.SECONDS));
+        }
+        return created;
+    }
+
+    private static Throwable failure(Future<TransactionDTO> future) throws Exception {
+        return assertThrows(ExecutionException.class, () -> future.get(10, TimeUnit.SECONDS)).getCause();
+    }
+
+    private TransactionDTO request(String amount) {
+        TransactionDTO dto = new TransactionDTO();
+        dto.setType(Transaction.TransactionType.EXPENSE);
+        dto.setCategory("Food");
+        dto.setAmount(new BigDecimal(amount));
+        dto.setOriginalCurrency("INR");
+        dto.setDate(LocalDate.of(2025, 3, 1));
+        return dto;
+    }
+
+    private int rows() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM transactions WHERE user_id = ?", Integer.class,
+                user.getId());
+    }
+
+    private BigDecimal rollup() {
+        return jdbcTemplate.queryForObject("SELECT COALESCE(SUM(amount), 0) FROM monthly_summaries WHERE user_id = ?",
+                BigDecimal.class, user.getId());
+    }
+}
@@ -0,0 +1,113 @@
+package com.budgetwise.backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class MoneyAccumulatorTest {
+
+    @Test
+    void emptyTotalIsZeroWithScaleZero() {
+        assertEquals(BigDecimal.ZERO, new MoneyAccumulator().toBigDecimal());
+    }
+
+    @Test
+    void matchesBigDecimalFoldIncludingScale() {
+        Random random = new Random(7);
+        for (int run = 0; run < 200; run++) {
+            List<BigDecimal> amounts = new ArrayList<>();
+            int count = random.nextInt(50);
+            for (int i = 0; i < count; i++) {
+                amounts.add(randomAmount(random));
+            }
+            assertMatchesFold(amounts);
+        }
+    }
+
+    @Test
+    void integerAmountsKeepScaleZero() {
+        assertMatchesFold(List.of(new BigDecimal("5"), new BigDecimal("10")));
+        assertMatchesFold(List.of(new BigDecimal("5"), new BigDecimal("1.5")));
+    }
+
+    @Test
+    void spillsExactlyWhenTheLongWouldOverflow() {
+        BigDecimal large = new BigDecimal("999999999999999"); // 15 digits, ~1e17 hundredths
+        List<BigDecimal> amounts = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            amounts.add(large);
+        }
+        assertMatchesFold(amounts);
+
+        List<BigDecimal> negatives = amounts.stream().map(BigDecimal::negate).toList();
+        assertMatchesFold(negatives);
+    }
+
+    @Test
+    void largestFastPathAmountsAreExact() {
+        assertMatchesFold(List.of(new BigDecimal("9999999999999.99"), new BigDecimal("9999999999999.97"),
+                new BigDecimal("-9999999999999.99"), new BigDecimal("999999999999999"),
+                new BigDecimal("99999999999999.9"), new BigDecimal("0.01")));
+        Random random = new Random(11);
+        for (int i = 0; i < 10_000; i++) {
+            long unscaled = random.nextLong() % 1_000_000_000_000_000L;
+            BigDecimal amount = BigDecimal.valueOf(unscaled, random.nextInt(3));
+            MoneyAccumulator accumulator = new MoneyAccumulator();
+            accumulator.add(amount);
+            assertEquals(BigDecimal.ZERO.add(amount), accumulator.toBigDecimal());
+        }
+    }
+
+    @Test
+    void highPrecisionAndNegativeScaleAmountsAreExact() {
+        assertMatchesFold(List.of(new BigDecimal("0.125"), new BigDecimal("10.10"), new BigDecimal("1E+3"),
+                new BigDecimal("123456789012345678901234567890.12"), new BigDecimal("-0.0001")));
+    }
+
+    @Test
+    void subtractMatchesAddingTheNegation() {
+        MoneyAccumulator accumulator = new MoneyAccumulator();
+        accumulator.add(new BigDecimal("100.50"));
+        accumulator.subtract(new BigDecimal("40.25"));
+        accumulator.subtract(new BigDecimal("0.125"));
+        assertEquals(new BigDecimal("100.50").add(new BigDecimal("-40.25")).add(new BigDecimal("-0.125")),
+                accumulator.toBigDecimal());
+    }
+
+    @Test
+    void totalsKeepKeysApartAcrossGrowth() {
+        MoneyTotals totals = new MoneyTotals();
+        for (long key = 0; key < 1000; key++) {
+            totals.add(key << 32 | (key % 7), BigDecimal.valueOf(key, 2));
+            totals.add(key << 32 | (key % 7), BigDecimal.valueOf(key, 2));
+        }
+        for (long key = 0; key < 1000; key++) {
+            assertEquals(BigDecimal.valueOf(key * 2, 2), totals.get(key << 32 | (key % 7), null));
+        }
+        assertEquals(BigDecimal.ONE, totals.get(-1L, BigDecimal.ONE));
+    }
+
+    private static void assertMatchesFold(List<BigDecimal> amounts) {
+        MoneyAccumulator accumulator = new MoneyAccumulator();
+        BigDecimal expected = BigDecimal.ZERO;
+        for (BigDecimal amount : amounts) {
+            accumulator.add(amount);
+            expected = expected.add(amount);
+        }
+        // equals, not compareTo: the scale must match too
+        assertEquals(expected, accumulator.toBigDecimal(), () -> "Inputs: " + amounts);
+    }
+
+    private static BigDecimal randomAmount(Random random) {
+        int scale = random.nextInt(5); // 0..4, beyond the fixed-point fast path for 3 and 4
+        long unscaled = random.nextInt(4) == 0
+                ? random.nextLong() % 10_000_000_000_000_000L
+                : random.nextInt(10_000_000) - 2_000_000;
+        return BigDecimal.valueOf(unscaled, scale);
+    }
+}
@@ -0,0 +1,117 @@
+package com.budgetwise.backend.service;
+
+import com.budgetwise.backend.MigratedDataJpaTest;
+import com.budgetwise.backend.dto.TransactionDTO;
+import com.budgetwise.backend.entity.Transaction;
+import com.budgetwise.backend.entity.User;
+import com.budgetwise.backend.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * The rollup keys buckets on the category exactly as entered. The test database
+ * compares transactions' text without case, like MySQL's default collation;
+ * H2 always compares accents apart, so the accented pair only shows on MySQL.
+ */
+@MigratedDataJpaTest
+class MonthlySummaryServiceTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 3, 10);
+
+    @Autowired
+    private MonthlySummaryService monthlySummaryService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String clerkId;
+    private User user;
+
+    @BeforeEach
+    void createUser() {
+        clerkId = "user_" + UUID.randomUUID();
+        user = new User();
+        user.setClerkId(clerkId);
+        user.setName("Rollup Tester");
+        user.setEmail(clerkId + "@example.com");
+        user = userRepository.save(user);
+    }
+
+    @Test
+    void caseAndAccentVariantsInOneMonthKeepBucketsOfTheirOwn() {
+        add("Food", "10.00");
+        TransactionDTO lower = add("food", "20.00");
+        add("FOOD", "40.00");
+        add("Cafe", "5.00");
+        add("Café", "7.00");
+
+        assertEquals(Map.of("Food", new BigDecimal("10.00"), "food", new BigDecimal("20.00"),
+                "FOOD", new BigDecimal("40.00"), "Cafe", new BigDecimal("5.00"), "Café", new BigDecimal("7.00")),
+                buckets());
+
+        // Emptying one bucket drops that bucket only
+        transactionService.deleteTransaction(lower.getId());
+        assertEquals(Map.of("Food", new BigDecimal("10.00"), "FOOD", new BigDecimal("40.00"),
+                "Cafe", new BigDecimal("5.00"), "Café", new BigDecimal("7.00")), buckets());
+    }
+
+    @Test
+    void theBackfillKeepsCaseVariantsApartAcrossHotAndArchivedRows() {
+        insert("transactions", null, "Food", "10.00");
+        insert("transactions", null, "food", "20.00");
+        insert("transactions", null, "food", "1.00");
+        insert("transactions_archive", 1_000_000L, "FOOD", "40.00");
+        insert("transactions_archive", 1_000_001L, "food", "2.00");
+        jdbcTemplate.update("DELETE FROM monthly_summaries");
+
+        monthlySummaryService.backfillIfEmpty();
+
+        assertEquals(Map.of("Food", new BigDecimal("10.00"), "food", new BigDecimal("23.00"),
+                "FOOD", new BigDecimal("40.00")), buckets());
+        assertEquals(3, jdbcTemplate.queryForObject(
+                "SELECT transaction_count FROM monthly_summaries WHERE user_id = ? AND category = 'food'",
+                Long.class, user.getId()));
+    }
+
+    private Map<String, BigDecimal> buckets() {
+        Map<String, BigDecimal> buckets = new HashMap<>();
+        jdbcTemplate.query("SELECT category, amount FROM monthly_summaries WHERE user_id = ?",
+                rs -> {
+                    buckets.put(rs.getString(1), rs.getBigDecimal(2));
+                }, user.getId());
+        return buckets;
+    }
+
+    private void insert(String table, Long id, String category, String amount) {
+        jdbcTemplate.update("INSERT INTO " + table + " (id, user_id, type, category, amount, original_amount, "
+                + "original_currency, conversion_rate, date) VALUES (?, ?, 'EXPENSE', ?, ?, ?, 'INR', 1, ?)",
+                id, user.getId(), category, new BigDecimal(amount), new BigDecimal(amount), Date.valueOf(DAY));
+    }
+
+    private TransactionDTO add(String category, String amount) {
+        TransactionDTO dto = new TransactionDTO();
+        dto.setType(Transaction.TransactionType.EXPENSE);
+        dto.setCategory(category);
+        dto.setAmount(new BigDecimal(amount));
+        dto.setOriginalCurrency("INR");
+        dto.setDate(DAY);
+        return transactionService.createTransaction(clerkId, dto);
+    }
+}
@@ -0,0 +1,188 @@
+package com.budgetwise.backend.service;
+
+import com.budgetwise.backend.MigratedDataJpaTest;
+import com.budgetwise.backend.dto.TransactionDTO;
+import com.budgetwise.backend.dto.TransactionPageDTO;
+import com.budgetwise.backend.entity.Transaction;
+import com.budgetwise.backend.entity.User;
+import com.budgetwise.backend.repository.MonthlySummaryRepository;
+import com.budgetwise.backend.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@MigratedDataJpaTest(properties = {
+        "transactions.archive.batch-size=7"
+})
+@Import({ TransactionArchiveService.class, ExportService.class })
+class TransactionArchiveTest {
+
+    private static final LocalDate CUTOFF = LocalDate.of(2024, 1, 1);
+
+    @Autowired
+    private TransactionArchiveService archiveService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private MonthlySummaryRepository monthlySummaryRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private String clerkId;
+    private User user;
+
+    @BeforeEach
+    void createUser() {
+        clerkId = "user_" + UUID.randomUUID();
+        user = new User();
+        user.setClerkId(clerkId);
+        user.setName("Archive Tester");
+        user.setEmail(clerkId + "@example.com");
+        user = userRepository.save(user);
+    }
+
+    @Test
+    void archivedRowsStayInTotalsListingsAndExports() throws IOException {
+        for (int i = 0; i < 40; i++) {
+            add(i % 5 == 0 ? "Salary" : "Food", i % 5 == 0, CUTOFF.minusDays(300).plusDays(i * 15L));
+        }
+        Map<Transaction.TransactionType, BigDecimal> totalsBefore = totals();
+        List<Long> idsBefore = allPages(3);
+
+        int moved = archiveService.archiveBefore(CUTOFF);
+        entityManager.clear();
+
+        assertEquals(20, moved);
+        assertEquals(20, count("transactions"));
+        assertEquals(20, count("transactions_archive"));
+        assertEquals(totalsBefore, totals());
+        assertEquals(idsBefore, allPages(3));
+        assertEquals(idsBefore, transactionService.getAllTransactions(clerkId).stream()
+                .map(TransactionDTO::getId).toList());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.writeTransactionsCsv(user.getId(), null, null, null, out);
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertEquals(41, lines.size());
+        assertEquals(CUTOFF.minusDays(300).toString(), lines.get(40).substring(0, 10));
+
+        // Nothing left to move
+        assertEquals(0, archiveService.archiveBefore(CUTOFF));
+    }
+
+    @Test
+    void backDatedRowsInterleaveWithTheArchive() {
+        add("Food", false, CUTOFF.minusDays(10));
+        add("Food", false, CUTOFF.minusDays(30));
+        archiveService.archiveBefore(CUTOFF);
+        add("Rent", false, CUTOFF.minusDays(20));
+        add("Rent", false, CUTOFF.plusDays(5));
+        entityManager.clear();
+
+        List<LocalDate> dates = new ArrayList<>();
+        String cursor = null;
+        do {
+            TransactionPageDTO page = transactionService.getTransactionsPage(clerkId, 1, cursor, null, null, null,
+                    null);
+            page.getItems().forEach(t -> dates.add(t.getDate()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertEquals(List.of(CUTOFF.plusDays(5), CUTOFF.minusDays(10), CUTOFF.minusDays(20), CUTOFF.minusDays(30)),
+                dates);
+    }
+
+    @Test
+    void deletingAnArchivedTransactionUpdatesTheRollup() {
+        TransactionDTO old = add("Food", false, CUTOFF.minusDays(40));
+        add("Food", false, CUTOFF.plusDays(1));
+        archiveService.archiveBefore(CUTOFF);
+        entityManager.clear();
+
+        transactionService.deleteTransaction(old.getId());
+        entityManager.flush();
+
+        assertEquals(0, count("transactions_archive"));
+        assertEquals(Map.of(Transaction.TransactionType.EXPENSE, new BigDecimal("10.00")), totals());
+    }
+
+    @Test
+    void theNewestIdStaysInTheHotTableSoItCannotBeReused() {
+        add("Food", false, CUTOFF.minusDays(20));
+        TransactionDTO backDated = add("Food", false, CUTOFF.minusDays(40));
+
+        assertEquals(1, archiveService.archiveBefore(CUTOFF));
+        assertEquals(backDated.getId(), jdbcTemplate.queryForObject("SELECT MAX(id) FROM transactions", Long.class));
+        assertEquals(1, count("transactions"));
+
+        TransactionDTO newer = add("Rent", false, CUTOFF.plusDays(1));
+        assertEquals(1, archiveService.archiveBefore(CUTOFF));
+        assertEquals(List.of(newer.getId()), jdbcTemplate.queryForList(
+                "SELECT id FROM transactions WHERE user_id = ?", Long.class, user.getId()));
+        // Every archived id is below the one the hot table still holds
+        assertTrue(jdbcTemplate.queryForObject("SELECT MAX(id) FROM transactions_archive", Long.class)
+                < newer.getId());
+    }
+
+    private List<Long> allPages(int limit) {
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            TransactionPageDTO page = transactionService.getTransactionsPage(clerkId, limit, cursor, null, null,
+                    null, null);
+            page.getItems().forEach(t -> ids.add(t.getId()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        return ids;
+    }
+
+    private Map<Transaction.TransactionType, BigDecimal> totals() {
+        return monthlySummaryRepository.sumByType(user).stream()
+                .collect(Collectors.toMap(MonthlySummaryRepository.TypeTotal::getType,
+                        MonthlySummaryRepository.TypeTotal::getAmount));
+    }
+
+    private long count(String table) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table + " WHERE user_id = ?", Long.class,
+                user.getId());
+    }
+
+    private TransactionDTO add(String category, boolean income, LocalDate date) {
+        TransactionDTO dto = new TransactionDTO();
+        dto.setType(income ? Transaction.TransactionType.INCOME : Transaction.TransactionType.EXPENSE);
+        dto.setCategory(category);
+        dto.setAmount(new BigDecimal("10.00"));
+        dto.setOriginalCurrency("INR");
+        dto.setDate(date);
+        return transactionService.createTransaction(clerkId, dto);
+    }
+}
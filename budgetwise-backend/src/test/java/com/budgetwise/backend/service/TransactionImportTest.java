@@ -0,0 +1,155 @@
+package com.budgetwise.backend.service;
+
+import com.budgetwise.backend.MigratedDataJpaTest;
+import com.budgetwise.backend.dto.ImportResultDTO;
+import com.budgetwise.backend.entity.User;
+import com.budgetwise.backend.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.jackson.autoconfigure.JacksonAutoConfiguration;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@MigratedDataJpaTest(properties = {
+        "transactions.import.batch-size=3"
+})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import(TransactionImportService.class)
+// Chunks must really commit (and really roll back) on their own, not join a test transaction
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TransactionImportTest {
+
+    @Autowired
+    private TransactionImportService importService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String clerkId;
+    private User user;
+
+    @BeforeEach
+    void createUser() {
+        clerkId = "user_" + UUID.randomUUID();
+        user = new User();
+        user.setClerkId(clerkId);
+        user.setName("Import Tester");
+        user.setEmail(clerkId + "@example.com");
+        user = userRepository.save(user);
+    }
+
+    @Test
+    void csvFieldsMayBeQuoted() {
+        assertEquals(List.of("a", "b,c", "say \"hi\"", ""),
+                TransactionImportService.parseCsvLine("a,\"b,c\",\"say \"\"hi\"\"\","));
+        assertEquals(List.of("", ""), TransactionImportService.parseCsvLine(","));
+    }
+
+    @Test
+    void csvColumnsAreMatchedByNameAndQuotedValuesImportIntact() throws IOException {
+        ImportResultDTO result = importService.importCsv(clerkId, csv(
+                "Description,Amount (INR),Category,Type,Date",
+                "\"Dinner, with \"\"friends\"\"\",120.50,Food,expense,2025-03-01",
+                ",40000,\"Salary\",INCOME,2025-03-02"));
+
+        assertEquals(2, result.getImported());
+        assertEquals(0, result.getRejected());
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                "SELECT type, category, amount, description FROM transactions WHERE user_id = ? ORDER BY date",
+                user.getId());
+        assertEquals("Dinner, with \"friends\"", rows.get(0).get("description"));
+        assertEquals(0, new BigDecimal("120.50").compareTo((BigDecimal) rows.get(0).get("amount")));
+        assertEquals("INCOME", rows.get(1).get("type"));
+        assertEquals("Salary", rows.get(1).get("category"));
+    }
+
+    @Test
+    void everyRejectionIsCountedButOnlyTheFirstHundredAreReported() throws IOException {
+        StringBuilder body = new StringBuilder("Date,Type,Category,Amount\n");
+        for (int i = 1; i <= 150; i++) {
+            body.append(i % 50 == 0 ? "2025-03-01,EXPENSE,Food,10\n" : "not-a-date,EXPENSE,Food,10\n");
+        }
+        ImportResultDTO result = importService.importCsv(clerkId,
+                new ByteArrayInputStream(body.toString().getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(3, result.getImported());
+        assertEquals(147, result.getRejected());
+        assertEquals(100, result.getRejectedRows().size());
+        assertEquals(1, result.getRejectedRows().get(0).getRow());
+        // Rows 50 and 100 imported, so the hundredth reported rejection is row 102
+        assertEquals(102, result.getRejectedRows().get(99).getRow());
+    }
+
+    @Test
+    void aFailingChunkRollsBackAloneAndEarlierChunksStayCommitted() throws IOException {
+        // Batches of three: rows 4-6 hold an amount the column cannot store
+        ImportResultDTO result = importService.importCsv(clerkId, csv(
+                "Date,Type,Category,Amount",
+                "2025-03-01,EXPENSE,Food,1",
+                "2025-03-02,EXPENSE,Food,2",
+                "2025-03-03,EXPENSE,Food,3",
+                "2025-03-04,EXPENSE,Food,4",
+                "2025-03-05,EXPENSE,Food,1E+40",
+                "2025-03-06,EXPENSE,Food,6",
+                "2025-03-07,EXPENSE,Food,7"));
+
+        assertEquals(4, result.getImported());
+        assertEquals(3, result.getRejected());
+        assertEquals(List.of(4L, 5L, 6L), result.getRejectedRows().stream()
+                .map(ImportResultDTO.RejectedRow::getRow).toList());
+        assertTrue(result.getRejectedRows().get(0).getReason().startsWith("Chunk rolled back"));
+        assertEquals(List.of(1, 2, 3, 7), jdbcTemplate.queryForList(
+                "SELECT CAST(amount AS INT) FROM transactions WHERE user_id = ? ORDER BY date", Integer.class,
+                user.getId()));
+        // The rollup only counts what was committed
+        assertEquals(0, new BigDecimal("13.00").compareTo(jdbcTemplate.queryForObject(
+                "SELECT SUM(amount) FROM monthly_summaries WHERE user_id = ?", BigDecimal.class, user.getId())));
+    }
+
+    @Test
+    void jsonElementsAreImportedOneByOneAndMalformedInputKeepsEarlierRows() {
+        ImportResultDTO result = importService.importJson(clerkId, json("""
+                [{"type":"EXPENSE","category":"Food","amount":10,"date":"2025-03-01"},
+                 {"type":"REFUND","category":"Food","amount":10,"date":"2025-03-01"},
+                 {"type":"EXPENSE","amount":10,"date":"2025-03-01"},
+                 {"type":"INCOME","category":"Salary","amount":500,"date":"2025-03-02"},
+                 {"type":"EXPENSE","category":"Food",\
+                """));
+
+        assertEquals(2, result.getImported());
+        assertEquals(3, result.getRejected());
+        assertEquals(List.of(2L, 3L, 5L), result.getRejectedRows().stream()
+                .map(ImportResultDTO.RejectedRow::getRow).toList());
+        assertEquals("Category is required", result.getRejectedRows().get(1).getReason());
+        assertTrue(result.getRejectedRows().get(2).getReason().startsWith("Malformed JSON"));
+        assertEquals(2, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM transactions WHERE user_id = ?",
+                Integer.class, user.getId()));
+    }
+
+    private static InputStream csv(String... lines) {
+        return json(String.join("\n", lines));
+    }
+
+    private static InputStream json(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
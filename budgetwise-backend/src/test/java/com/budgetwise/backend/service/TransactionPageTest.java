@@ -0,0 +1,151 @@
+package com.budgetwise.backend.service;
+
+import com.budgetwise.backend.MigratedDataJpaTest;
+import com.budgetwise.backend.dto.TransactionDTO;
+import com.budgetwise.backend.dto.TransactionPageDTO;
+import com.budgetwise.backend.entity.Transaction;
+import com.budgetwise.backend.entity.User;
+import com.budgetwise.backend.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@MigratedDataJpaTest
+class TransactionPageTest {
+
+    private static final String[] CATEGORIES = { "Food", "Rent", "Travel" };
+    private static final LocalDate START = LocalDate.of(2025, 3, 1);
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private String clerkId;
+    private final List<TransactionDTO> added = new ArrayList<>();
+
+    @BeforeEach
+    void createUser() {
+        clerkId = "user_" + UUID.randomUUID();
+        User user = new User();
+        user.setClerkId(clerkId);
+        user.setName("Page Tester");
+        user.setEmail(clerkId + "@example.com");
+        userRepository.saveAndFlush(user);
+
+        // Three rows per day, so pages regularly split a day and the id breaks the tie
+        for (int i = 0; i < 30; i++) {
+            add(CATEGORIES[i % CATEGORIES.length], i % 4 == 0, START.plusDays(i / 3));
+        }
+    }
+
+    @Test
+    void followingTheCursorVisitsEveryRowOnceNewestFirst() {
+        for (int limit : List.of(1, 4, 7, 30, 200)) {
+            assertEquals(expected(t -> true), walk(limit, null, null, null, null), "limit " + limit);
+        }
+    }
+
+    @Test
+    void aPageThatEndsOnTheLastRowHasNoCursor() {
+        TransactionPageDTO page = transactionService.getTransactionsPage(clerkId, 30, null, null, null, null, null);
+        assertEquals(30, page.getItems().size());
+        assertNull(page.getNextCursor());
+
+        // 29 + 1: the cursor of a page one short of the end leads to exactly the last row
+        page = transactionService.getTransactionsPage(clerkId, 29, null, null, null, null, null);
+        TransactionPageDTO last = transactionService.getTransactionsPage(clerkId, 29, page.getNextCursor(), null,
+                null, null, null);
+        assertEquals(1, last.getItems().size());
+        assertEquals(added.stream().min(newestFirst().reversed()).orElseThrow().getId(),
+                last.getItems().get(0).getId());
+        assertNull(last.getNextCursor());
+    }
+
+    @Test
+    void filtersApplyOnEveryPage() {
+        LocalDate from = START.plusDays(2);
+        LocalDate to = START.plusDays(6);
+        assertEquals(expected(t -> !t.getDate().isBefore(from) && !t.getDate().isAfter(to)),
+                walk(2, from, to, null, null));
+        assertEquals(expected(t -> t.getType() == Transaction.TransactionType.INCOME),
+                walk(2, null, null, Transaction.TransactionType.INCOME, null));
+        assertEquals(expected(t -> t.getCategory().equals("Rent") && !t.getDate().isBefore(from)),
+                walk(3, from, null, null, "Rent"));
+    }
+
+    @Test
+    void tamperedCursorsAreRejectedAsInvalid() {
+        for (String payload : List.of("2025-13-01|5", "2025-03-01|five", "2025-03-01", "not base64!")) {
+            String cursor = payload.equals("not base64!") ? payload
+                    : Base64.getUrlEncoder().withoutPadding()
+                            .encodeToString(payload.getBytes(StandardCharsets.UTF_8));
+            ResponseStatusException e = assertThrows(ResponseStatusException.class,
+                    () -> transactionService.getTransactionsPage(clerkId, 5, cursor, null, null, null, null));
+            assertEquals(HttpStatus.BAD_REQUEST, e.getStatusCode());
+            assertTrue(e.getReason().startsWith("Invalid cursor"), e.getReason());
+        }
+    }
+
+    @Test
+    void outOfRangeLimitsAndInvertedRangesAreBadRequests() {
+        for (int limit : new int[] { 0, 201 }) {
+            assertEquals(HttpStatus.BAD_REQUEST, assertThrows(ResponseStatusException.class,
+                    () -> transactionService.getTransactionsPage(clerkId, limit, null, null, null, null, null))
+                    .getStatusCode());
+        }
+        assertEquals(HttpStatus.BAD_REQUEST, assertThrows(ResponseStatusException.class,
+                () -> transactionService.getTransactionsPage(clerkId, 5, null, START.plusDays(1), START, null, null))
+                .getStatusCode());
+    }
+
+    private List<Long> walk(int limit, LocalDate from, LocalDate to, Transaction.TransactionType type,
+            String category) {
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            TransactionPageDTO page = transactionService.getTransactionsPage(clerkId, limit, cursor, from, to, type,
+                    category);
+            assertTrue(page.getItems().size() <= limit);
+            page.getItems().forEach(t -> ids.add(t.getId()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        return ids;
+    }
+
+    private List<Long> expected(Predicate<TransactionDTO> filter) {
+        return added.stream().filter(filter).sorted(newestFirst()).map(TransactionDTO::getId).toList();
+    }
+
+    private static Comparator<TransactionDTO> newestFirst() {
+        return Comparator.comparing(TransactionDTO::getDate).thenComparing(TransactionDTO::getId).reversed();
+    }
+
+    private void add(String category, boolean income, LocalDate date) {
+        TransactionDTO dto = new TransactionDTO();
+        dto.setType(income ? Transaction.TransactionType.INCOME : Transaction.TransactionType.EXPENSE);
+        dto.setCategory(category);
+        dto.setAmount(new BigDecimal("10.00"));
+        dto.setOriginalCurrency("INR");
+        dto.setDate(date);
+        added.add(transactionService.createTransaction(clerkId, dto));
+    }
+}
@@ -0,0 +1,6 @@
+-- Test databases run with IGNORECASE=TRUE, so text columns compare without case as under MySQL's default
+-- collation. H2 parses COLLATE but ignores it, so give monthly_summaries.category the case-sensitive
+-- comparison V7 declares with utf8mb4_bin. Accents are compared apart in H2 either way.
+SET IGNORECASE FALSE;
+ALTER TABLE monthly_summaries ALTER COLUMN category SET DATA TYPE VARCHAR(255);
+SET IGNORECASE TRUE;